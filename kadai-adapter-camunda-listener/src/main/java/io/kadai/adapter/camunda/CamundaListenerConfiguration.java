@@ -43,12 +43,21 @@ public class CamundaListenerConfiguration {
       "kadai.adapter.outbox.datasource.password";
   private static final String KADAI_ADAPTER_OUTBOX_INITIAL_NUMBER_OF_TASK_CREATION_RETRIES =
       "kadai.adapter.outbox.initial.number.of.task.creation.retries";
+  private static final String KADAI_ADAPTER_OUTBOX_SCHEMA_QUALIFIED_STATEMENTS =
+      "kadai.adapter.outbox.schema.qualified.statements";
+  private static final String KADAI_ADAPTER_OUTBOX_SCHEMA_PARTITIONED =
+      "kadai.adapter.outbox.schema.partitioned";
+  private static final String KADAI_ADAPTER_OUTBOX_PAYLOAD_VERSION =
+      "kadai.adapter.outbox.payload.version";
   private static final String OUTBOX_SYSTEM_PROPERTY = "kadai.outbox.properties";
   private static final String OUTBOX_SCHEMA_DEFAULT = "kadai_tables";
   private static final String EXCEPTION_FOR_FAULTY_PROCESS_VARIABLES =
       "kadai.listener.process.variables.exception";
   private static final boolean CREATE_OUTBOX_SCHEMA_DEFAULT = true;
+  private static final boolean SCHEMA_QUALIFIED_STATEMENTS_DEFAULT = true;
+  private static final boolean SCHEMA_PARTITIONED_DEFAULT = false;
   private static final int INITIAL_NUMBER_OF_TASK_CREATION_RETRIES_DEFAULT = 5;
+  private static final int OUTBOX_PAYLOAD_VERSION_DEFAULT = 1;
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaListenerConfiguration.class);
   private final Properties outboxProperties = new Properties();
 
@@ -112,6 +121,33 @@ public class CamundaListenerConfiguration {
     }
   }
 
+  public static boolean getUseSchemaQualifiedStatements() {
+
+    String schemaQualifiedStatementsProperty =
+        getInstance()
+            .outboxProperties
+            .getProperty(KADAI_ADAPTER_OUTBOX_SCHEMA_QUALIFIED_STATEMENTS);
+
+    if ((schemaQualifiedStatementsProperty == null)
+        || schemaQualifiedStatementsProperty.isEmpty()) {
+      return SCHEMA_QUALIFIED_STATEMENTS_DEFAULT;
+    } else {
+      return !"false".equalsIgnoreCase(schemaQualifiedStatementsProperty);
+    }
+  }
+
+  public static boolean getOutboxSchemaPartitioned() {
+
+    String schemaPartitionedProperty =
+        getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_SCHEMA_PARTITIONED);
+
+    if ((schemaPartitionedProperty == null) || schemaPartitionedProperty.isEmpty()) {
+      return SCHEMA_PARTITIONED_DEFAULT;
+    } else {
+      return "true".equalsIgnoreCase(schemaPartitionedProperty.trim());
+    }
+  }
+
   public static String getOutboxDatasourceJndi() {
     return getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_DATASOURCE_JNDI);
   }
@@ -162,6 +198,28 @@ public class CamundaListenerConfiguration {
     return initialNumberOfTaskCreationRetries;
   }
 
+  public static int getOutboxPayloadVersion() {
+
+    String payloadVersionProperty =
+        getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_PAYLOAD_VERSION);
+
+    if (payloadVersionProperty == null || payloadVersionProperty.isEmpty()) {
+      return OUTBOX_PAYLOAD_VERSION_DEFAULT;
+    }
+
+    try {
+      return Integer.parseInt(payloadVersionProperty.trim());
+    } catch (NumberFormatException e) {
+      LOGGER.warn(
+          String.format(
+              "Attempted to retrieve the outbox payload version and caught Exception. "
+                  + "Setting default for the outbox payload version to %d ",
+              OUTBOX_PAYLOAD_VERSION_DEFAULT),
+          e);
+      return OUTBOX_PAYLOAD_VERSION_DEFAULT;
+    }
+  }
+
   private void readPropertiesFromClasspath() {
 
     try (InputStream propertiesStream =
@@ -22,6 +22,7 @@ import io.kadai.adapter.camunda.CamundaListenerConfiguration;
 import io.kadai.adapter.camunda.exceptions.SystemException;
 import io.kadai.adapter.camunda.schemacreator.DB;
 import io.kadai.adapter.camunda.schemacreator.KadaiOutboxSchemaCreator;
+import io.kadai.adapter.camunda.tasklistener.KadaiTaskListener;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -43,7 +44,7 @@ import org.slf4j.LoggerFactory;
  */
 public class KadaiParseListenerProcessEnginePlugin extends AbstractProcessEnginePlugin {
 
-  private static final String OUTBOX_SCHEMA_VERSION = "1.12.0";
+  private static final String OUTBOX_SCHEMA_VERSION = "1.14.0";
   private static final Logger LOGGER =
       LoggerFactory.getLogger(KadaiParseListenerProcessEnginePlugin.class);
 
@@ -83,17 +84,25 @@ public class KadaiParseListenerProcessEnginePlugin extends AbstractProcessEngine
 
     DataSource camundaDataSource = retrieveCamundaDatasource(processEngineConfiguration);
 
-    createSchema(camundaDataSource);
+    String outboxSchema = initSchemaName(camundaDataSource);
+
+    createSchema(camundaDataSource, outboxSchema);
+
+    if (CamundaListenerConfiguration.getUseSchemaQualifiedStatements()) {
+      KadaiTaskListener.getInstance().useSchemaQualifiedStatements(outboxSchema);
+      LOGGER.debug("KadaiTaskListener writes into the outbox of schema {}", outboxSchema);
+    }
 
     LOGGER.info("KadaiOutbox initialized successfully");
   }
 
-  private void createSchema(DataSource camundaDataSource) {
-
-    String outboxSchema = initSchemaName(camundaDataSource);
+  private void createSchema(DataSource camundaDataSource, String outboxSchema) {
 
     KadaiOutboxSchemaCreator schemaCreator =
-        new KadaiOutboxSchemaCreator(camundaDataSource, outboxSchema);
+        new KadaiOutboxSchemaCreator(
+            camundaDataSource,
+            outboxSchema,
+            CamundaListenerConfiguration.getOutboxSchemaPartitioned());
 
     boolean isSchemaPreexisting = schemaCreator.isSchemaPreexisting();
 
@@ -45,10 +45,13 @@ public class KadaiOutboxSchemaCreator {
   private static final String DB_SCHEMA_DB2 = SQL + "/db2/kadai-outbox-schema-db2.sql";
   private static final String DB_SCHEMA_POSTGRES =
       SQL + "/postgres/kadai-outbox-schema-postgres.sql";
+  private static final String DB_SCHEMA_POSTGRES_PARTITIONED =
+      SQL + "/postgres/kadai-outbox-schema-postgres-partitioned.sql";
   private static final String DB_SCHEMA_ORACLE = SQL + "/oracle/kadai-outbox-schema-oracle.sql";
 
   private DataSource dataSource;
   private String schemaName;
+  private boolean partitioned;
   private StringWriter outWriter = new StringWriter();
   private PrintWriter logWriter = new PrintWriter(outWriter);
   private StringWriter errorWriter = new StringWriter();
@@ -60,6 +63,19 @@ public class KadaiOutboxSchemaCreator {
     this.schemaName = schemaName;
   }
 
+  /**
+   * Creates a schema creator that creates the partitioned event_store if requested and supported
+   * by the database. The partitioned event_store is only supported by PostgreSQL.
+   *
+   * @param dataSource the data source of the Camunda database
+   * @param schemaName the name of the outbox schema
+   * @param partitioned whether the event_store shall be partitioned by type and creation time
+   */
+  public KadaiOutboxSchemaCreator(DataSource dataSource, String schemaName, boolean partitioned) {
+    this(dataSource, schemaName);
+    this.partitioned = partitioned;
+  }
+
   /**
    * Run all db scripts.
    *
@@ -79,7 +95,8 @@ public class KadaiOutboxSchemaCreator {
           new BufferedReader(
               new InputStreamReader(
                   this.getClass()
-                      .getResourceAsStream(selectDbScriptFileName(databaseProductName))));
+                      .getResourceAsStream(
+                          selectDbScriptFileName(databaseProductName, partitioned))));
       runner.runScript(getSqlSchemaNameParsed(reader, databaseProductName));
 
     } catch (Exception ex) {
@@ -174,9 +191,15 @@ public class KadaiOutboxSchemaCreator {
     }
   }
 
-  private static String selectDbScriptFileName(String dbProductName) {
+  private static String selectDbScriptFileName(String dbProductName, boolean partitioned) {
+    if (partitioned && !POSTGRESQL.equals(dbProductName)) {
+      LOGGER.warn(
+          "The partitioned KadaiOutbox schema is not supported by {}, "
+              + "creating the unpartitioned schema",
+          dbProductName);
+    }
     if (POSTGRESQL.equals(dbProductName)) {
-      return DB_SCHEMA_POSTGRES;
+      return partitioned ? DB_SCHEMA_POSTGRES_PARTITIONED : DB_SCHEMA_POSTGRES;
     } else if (H2.equals(dbProductName)) {
       return DB_SCHEMA;
     } else if (dbProductName != null && dbProductName.toLowerCase().startsWith("oracle")) {
@@ -0,0 +1,127 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.tasklistener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+
+/**
+ * Caches the extension properties the KadaiTaskListener reads from the BPMN model, per process
+ * definition and user task. Deployed process definitions never change, so the model only has to be
+ * scanned for the first task of a user task definition. The number of cached user task
+ * definitions is bounded, the least recently used entry is evicted first.
+ */
+class ExtensionPropertiesCache {
+
+  private static final int MAX_CACHED_USER_TASK_DEFINITIONS = 1000;
+
+  private final Set<String> propertyKeys;
+  private final Map<String, ExtensionProperties> cachedExtensionProperties =
+      Collections.synchronizedMap(
+          new LinkedHashMap<String, ExtensionProperties>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExtensionProperties> eldest) {
+              return size() > MAX_CACHED_USER_TASK_DEFINITIONS;
+            }
+          });
+
+  ExtensionPropertiesCache(Set<String> propertyKeys) {
+    this.propertyKeys = propertyKeys;
+  }
+
+  String getUserTaskExtensionProperty(DelegateTask delegateTask, String propertyKey) {
+    return getExtensionProperties(delegateTask).userTaskProperties.get(propertyKey);
+  }
+
+  String getProcessModelExtensionProperty(DelegateTask delegateTask, String propertyKey) {
+    return getExtensionProperties(delegateTask).processModelProperties.get(propertyKey);
+  }
+
+  private ExtensionProperties getExtensionProperties(DelegateTask delegateTask) {
+
+    if (delegateTask.getProcessDefinitionId() == null) {
+      return resolveExtensionProperties(delegateTask);
+    }
+
+    String userTaskDefinitionId =
+        delegateTask.getProcessDefinitionId() + ":" + delegateTask.getTaskDefinitionKey();
+
+    ExtensionProperties extensionProperties = cachedExtensionProperties.get(userTaskDefinitionId);
+    if (extensionProperties == null) {
+      extensionProperties = resolveExtensionProperties(delegateTask);
+      cachedExtensionProperties.put(userTaskDefinitionId, extensionProperties);
+    }
+    return extensionProperties;
+  }
+
+  private ExtensionProperties resolveExtensionProperties(DelegateTask delegateTask) {
+
+    Map<String, String> userTaskProperties = Collections.emptyMap();
+
+    ExtensionElements extensionElements =
+        delegateTask.getExecution().getBpmnModelElementInstance().getExtensionElements();
+
+    if (extensionElements != null) {
+      CamundaProperties camundaProperties =
+          extensionElements.getElementsQuery().filterByType(CamundaProperties.class).singleResult();
+      userTaskProperties = collectFirstValues(camundaProperties.getCamundaProperties());
+    }
+
+    Map<String, String> processModelProperties =
+        collectFirstValues(
+            delegateTask
+                .getExecution()
+                .getBpmnModelInstance()
+                .getModelElementsByType(CamundaProperty.class));
+
+    return new ExtensionProperties(userTaskProperties, processModelProperties);
+  }
+
+  private Map<String, String> collectFirstValues(Collection<CamundaProperty> camundaProperties) {
+
+    Map<String, String> values = new HashMap<>();
+    for (CamundaProperty camundaProperty : camundaProperties) {
+      String name = camundaProperty.getCamundaName();
+      if (name != null && propertyKeys.contains(name) && !values.containsKey(name)) {
+        values.put(name, camundaProperty.getCamundaValue());
+      }
+    }
+    return values;
+  }
+
+  private static class ExtensionProperties {
+
+    private final Map<String, String> userTaskProperties;
+    private final Map<String, String> processModelProperties;
+
+    private ExtensionProperties(
+        Map<String, String> userTaskProperties, Map<String, String> processModelProperties) {
+      this.userTaskProperties = userTaskProperties;
+      this.processModelProperties = processModelProperties;
+    }
+  }
+}
@@ -18,35 +18,35 @@
 
 package io.kadai.adapter.camunda.tasklistener;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kadai.adapter.camunda.CamundaListenerConfiguration;
 import io.kadai.adapter.camunda.dto.ReferencedTask;
-import io.kadai.adapter.camunda.dto.VariableValueDto;
 import io.kadai.adapter.camunda.exceptions.SystemException;
 import io.kadai.adapter.camunda.mapper.JacksonConfigurator;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import javax.sql.DataSource;
 import org.camunda.bpm.engine.delegate.DelegateTask;
 import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.variable.value.TypedValue;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
-import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,13 +61,27 @@ public class KadaiTaskListener implements TaskListener {
   private static final String TASK_STATE_TERMINATED = "TERMINATED";
   private static final String DEFAULT_SCHEMA = "kadai_tables";
   private static final String SQL_INSERT_EVENT =
-      "INSERT INTO event_store (TYPE,CREATED,PAYLOAD,REMAINING_RETRIES,"
+      "INSERT INTO %sevent_store (TYPE,CREATED,PAYLOAD,REMAINING_RETRIES,"
           + "BLOCKED_UNTIL,CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER) VALUES (?,?,?,?,?,?,?)";
+  private static final String SQL_INSERT_EVENT_UNQUALIFIED = String.format(SQL_INSERT_EVENT, "");
+  private static final String PROPERTY_DOMAIN = "kadai.domain";
+  private static final String PROPERTY_CLASSIFICATION_KEY = "kadai.classification-key";
+  private static final String PROPERTY_ATTRIBUTES = "kadai-attributes";
   private static KadaiTaskListener instance = null;
 
-  private final ObjectMapper objectMapper = JacksonConfigurator.createAndConfigureObjectMapper();
+  private final ReferencedTaskJsonWriter referencedTaskJsonWriter =
+      new ReferencedTaskJsonWriter(
+          JacksonConfigurator.createAndConfigureObjectMapper(),
+          CamundaListenerConfiguration.getOutboxPayloadVersion());
+  private final Map<CommandContext, BufferedOutboxEvents> bufferedEvents =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  private final ExtensionPropertiesCache extensionPropertiesCache =
+      new ExtensionPropertiesCache(
+          new HashSet<>(
+              Arrays.asList(PROPERTY_DOMAIN, PROPERTY_CLASSIFICATION_KEY, PROPERTY_ATTRIBUTES)));
   private boolean gotActivated = false;
   private String outboxSchemaName = null;
+  private String schemaQualifiedInsertEvent = null;
 
   public static KadaiTaskListener getInstance() {
     if (instance == null) {
@@ -76,22 +90,20 @@ public class KadaiTaskListener implements TaskListener {
     return instance;
   }
 
+  /**
+   * Lets the listener write into the outbox with statements that carry the resolved outbox schema,
+   * so the schema of the engine's connection does not have to be switched for each write.
+   *
+   * @param outboxSchema the outbox schema name, already in the case expected by the database
+   */
+  public void useSchemaQualifiedStatements(String outboxSchema) {
+    schemaQualifiedInsertEvent = String.format(SQL_INSERT_EVENT, outboxSchema + ".");
+  }
+
   @Override
   public void notify(DelegateTask delegateTask) {
 
-    try (Connection connection =
-        Context.getProcessEngineConfiguration().getDataSource().getConnection()) {
-
-      if (!gotActivated) {
-        gotActivated = true;
-        if (LOGGER.isInfoEnabled()) {
-          LOGGER.info(
-              String.format(
-                  "KadaiTaskListener activated successfully, connected to %s",
-                  connection.getMetaData().getURL()));
-        }
-      }
-
+    try {
       String engineName = delegateTask.getProcessEngine().getName();
       if (engineName.length() > 128) {
         throw new SystemException(
@@ -103,11 +115,11 @@ public class KadaiTaskListener implements TaskListener {
 
       switch (delegateTask.getEventName()) {
         case "create":
-          insertCreateEventIntoOutbox(delegateTask, connection);
+          addCreateEventToOutbox(delegateTask);
           break;
         case "complete":
         case "delete":
-          insertCompleteOrDeleteEventIntoOutbox(delegateTask, connection);
+          addCompleteOrDeleteEventToOutbox(delegateTask);
           break;
         default:
           break;
@@ -119,66 +131,136 @@ public class KadaiTaskListener implements TaskListener {
     }
   }
 
-  private void insertCreateEventIntoOutbox(DelegateTask delegateTask, Connection connection)
-      throws Exception {
-
-    String camundaSchema = null;
+  private void addCreateEventToOutbox(DelegateTask delegateTask) throws Exception {
 
-    try {
-
-      camundaSchema = connection.getSchema();
-      LOGGER.debug("camundaSchema in taskListener is {}", camundaSchema);
+    String referencedTaskJson = getReferencedTaskJson(delegateTask);
 
-      String referencedTaskJson = getReferencedTaskJson(delegateTask);
+    addEventToOutbox(delegateTask, referencedTaskJson);
+  }
 
-      setOutboxSchema(connection);
+  private void addCompleteOrDeleteEventToOutbox(DelegateTask delegateTask) throws Exception {
 
-      prepareAndExecuteStatement(connection, delegateTask, referencedTaskJson);
+    if (delegateTask.getEventName().equals("complete")
+        && taskWasCompletedByKadaiAdapter(delegateTask)) {
+      return;
+    }
 
-    } finally {
-      if (camundaSchema != null) {
-        connection.setSchema(camundaSchema);
+    String taskState = TASK_STATE_COMPLETED;
+    if (delegateTask.getEventName().equals("delete")) {
+      if (delegateTask.getExecution().isCanceled()) {
+        taskState = TASK_STATE_CANCELLED;
+      } else {
+        taskState = TASK_STATE_TERMINATED;
       }
     }
+
+    String payload =
+        String.format("{\"id\":\"%s\",\"taskState\":\"%s\"}", delegateTask.getId(), taskState);
+
+    addEventToOutbox(delegateTask, payload);
   }
 
-  private void insertCompleteOrDeleteEventIntoOutbox(
-      DelegateTask delegateTask, Connection connection) throws Exception {
+  private boolean taskWasCompletedByKadaiAdapter(DelegateTask delegateTask) {
 
-    if (delegateTask.getEventName().equals("complete")
-        && taskWasCompletedByKadaiAdapter(delegateTask)) {
+    return delegateTask.getVariableNamesLocal().contains("completedByKadaiAdapter");
+  }
+
+  /**
+   * Buffers an outbox event in the current command context. All events of one command context are
+   * written in a single JDBC batch when its transaction is committing, so a command that touches
+   * many user tasks costs one round trip to the outbox instead of one per task. Without a command
+   * context the event is written immediately.
+   *
+   * <p>The data source is taken from the engine while the listener is notified and kept with the
+   * buffer. With Spring or JTA managed transactions the committing listeners run after the command
+   * context has been left, so the engine configuration is no longer available from the Context.
+   *
+   * @param delegateTask the user task the event belongs to
+   * @param payload the payload of the event
+   * @throws SQLException if the event had to be written immediately and writing failed
+   */
+  private void addEventToOutbox(DelegateTask delegateTask, String payload) throws SQLException {
+
+    OutboxEvent event =
+        new OutboxEvent(
+            delegateTask.getEventName(),
+            Timestamp.from(Instant.now()),
+            payload,
+            delegateTask.getId(),
+            delegateTask.getProcessEngine().getName());
+
+    DataSource dataSource = Context.getProcessEngineConfiguration().getDataSource();
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      insertEventsIntoOutbox(dataSource, Collections.singletonList(event));
       return;
     }
 
-    String camundaSchema = null;
+    BufferedOutboxEvents buffer = bufferedEvents.get(commandContext);
+    if (buffer == null) {
+      buffer = new BufferedOutboxEvents(dataSource);
+      bufferedEvents.put(commandContext, buffer);
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      transactionContext.addTransactionListener(
+          TransactionState.COMMITTING, this::flushBufferedEvents);
+      transactionContext.addTransactionListener(
+          TransactionState.ROLLED_BACK, bufferedEvents::remove);
+    }
+    buffer.events.add(event);
+  }
+
+  private void flushBufferedEvents(CommandContext commandContext) {
+
+    BufferedOutboxEvents buffer = bufferedEvents.remove(commandContext);
+    if (buffer == null || buffer.events.isEmpty()) {
+      return;
+    }
 
     try {
-      String taskState = TASK_STATE_COMPLETED;
-      if (delegateTask.getEventName().equals("delete")) {
-        if (delegateTask.getExecution().isCanceled()) {
-          taskState = TASK_STATE_CANCELLED;
-        } else {
-          taskState = TASK_STATE_TERMINATED;
+      insertEventsIntoOutbox(buffer.dataSource, buffer.events);
+    } catch (Exception e) {
+      LOGGER.error("Unexpected Exception while trying to write events into the outbox", e);
+      throw new SystemException(
+          "Unexpected Exception while trying to write events into the outbox", e);
+    }
+  }
+
+  private void insertEventsIntoOutbox(DataSource dataSource, List<OutboxEvent> events)
+      throws SQLException {
+
+    try (Connection connection = dataSource.getConnection()) {
+
+      if (!gotActivated) {
+        gotActivated = true;
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info(
+              String.format(
+                  "KadaiTaskListener activated successfully, connected to %s",
+                  connection.getMetaData().getURL()));
         }
       }
 
-      String payload =
-          String.format("{\"id\":\"%s\",\"taskState\":\"%s\"}", delegateTask.getId(), taskState);
-
-      camundaSchema = connection.getSchema();
-      setOutboxSchema(connection);
-      prepareAndExecuteStatement(connection, delegateTask, payload);
-      connection.setSchema(camundaSchema);
-    } finally {
-      if (camundaSchema != null) {
-        connection.setSchema(camundaSchema);
+      if (schemaQualifiedInsertEvent != null) {
+        prepareAndExecuteBatch(connection, schemaQualifiedInsertEvent, events);
+        return;
       }
-    }
-  }
 
-  private boolean taskWasCompletedByKadaiAdapter(DelegateTask delegateTask) {
+      String camundaSchema = null;
 
-    return delegateTask.getVariableNamesLocal().contains("completedByKadaiAdapter");
+      try {
+        camundaSchema = connection.getSchema();
+        LOGGER.debug("camundaSchema in taskListener is {}", camundaSchema);
+
+        setOutboxSchema(connection);
+
+        prepareAndExecuteBatch(connection, SQL_INSERT_EVENT_UNQUALIFIED, events);
+
+      } finally {
+        if (camundaSchema != null) {
+          connection.setSchema(camundaSchema);
+        }
+      }
+    }
   }
 
   private void setOutboxSchema(Connection connection) throws SQLException {
@@ -200,29 +282,31 @@ public class KadaiTaskListener implements TaskListener {
     }
   }
 
-  private void prepareAndExecuteStatement(
-      Connection connection, DelegateTask delegateTask, String payloadJson) throws Exception {
-
-    try (PreparedStatement preparedStatement =
-        connection.prepareStatement(SQL_INSERT_EVENT, Statement.RETURN_GENERATED_KEYS)) {
+  private void prepareAndExecuteBatch(
+      Connection connection, String insertEventStatement, List<OutboxEvent> events)
+      throws SQLException {
 
-      Timestamp eventCreationTimestamp = Timestamp.from(Instant.now());
+    try (PreparedStatement preparedStatement = connection.prepareStatement(insertEventStatement)) {
 
       int initialRetries = CamundaListenerConfiguration.getInitialNumberOfTaskCreationRetries();
 
-      preparedStatement.setString(1, delegateTask.getEventName());
-      preparedStatement.setTimestamp(2, eventCreationTimestamp);
-      preparedStatement.setString(3, payloadJson);
-      preparedStatement.setInt(4, initialRetries);
-      preparedStatement.setTimestamp(5, eventCreationTimestamp);
-      preparedStatement.setString(6, delegateTask.getId());
-      preparedStatement.setString(7, delegateTask.getProcessEngine().getName());
+      for (OutboxEvent event : events) {
+        preparedStatement.setString(1, event.type);
+        preparedStatement.setTimestamp(2, event.created);
+        preparedStatement.setString(3, event.payload);
+        preparedStatement.setInt(4, initialRetries);
+        preparedStatement.setTimestamp(5, event.created);
+        preparedStatement.setString(6, event.camundaTaskId);
+        preparedStatement.setString(7, event.systemEngineIdentifier);
+        preparedStatement.addBatch();
+      }
 
-      preparedStatement.execute();
+      preparedStatement.executeBatch();
+      LOGGER.debug("Inserted {} events into the outbox in one batch.", events.size());
     }
   }
 
-  private String getReferencedTaskJson(DelegateTask delegateTask) throws JsonProcessingException {
+  private String getReferencedTaskJson(DelegateTask delegateTask) throws IOException {
 
     ReferencedTask referencedTask = new ReferencedTask();
 
@@ -238,7 +322,7 @@ public class KadaiTaskListener implements TaskListener {
     referencedTask.setTaskDefinitionKey(delegateTask.getTaskDefinitionKey());
     referencedTask.setBusinessProcessId(delegateTask.getProcessInstanceId());
     referencedTask.setClassificationKey(
-        getUserTaskExtensionProperty(delegateTask, "kadai.classification-key"));
+        getUserTaskExtensionProperty(delegateTask, PROPERTY_CLASSIFICATION_KEY));
     referencedTask.setDomain(getDomainVariable(delegateTask));
     referencedTask.setWorkbasketKey(getVariable(delegateTask, "kadai.workbasket-key", null));
     referencedTask.setManualPriority(getVariable(delegateTask, "kadai.manual-priority", "-1"));
@@ -250,8 +334,8 @@ public class KadaiTaskListener implements TaskListener {
     referencedTask.setCustomInt6(getVariable(delegateTask, "kadai.custom-int-6", null));
     referencedTask.setCustomInt7(getVariable(delegateTask, "kadai.custom-int-7", null));
     referencedTask.setCustomInt8(getVariable(delegateTask, "kadai.custom-int-8", null));
-    referencedTask.setVariables(getProcessVariables(delegateTask));
-    String referencedTaskJson = objectMapper.writeValueAsString(referencedTask);
+    String referencedTaskJson =
+        referencedTaskJsonWriter.write(referencedTask, getProcessVariables(delegateTask));
     LOGGER.debug("Exit from getReferencedTaskJson. Returning {}.", referencedTaskJson);
     return referencedTaskJson;
   }
@@ -261,11 +345,11 @@ public class KadaiTaskListener implements TaskListener {
     if (taskDomain != null) {
       return taskDomain;
     }
-    taskDomain = getUserTaskExtensionProperty(delegateTask, "kadai.domain");
+    taskDomain = getUserTaskExtensionProperty(delegateTask, PROPERTY_DOMAIN);
     if (taskDomain != null) {
       return taskDomain;
     }
-    return getProcessModelExtensionProperty(delegateTask, "kadai.domain");
+    return getProcessModelExtensionProperty(delegateTask, PROPERTY_DOMAIN);
   }
 
   private String getVariable(
@@ -287,105 +371,35 @@ public class KadaiTaskListener implements TaskListener {
     return variable;
   }
 
-  private String getProcessVariables(DelegateTask delegateTask) {
+  private Map<String, TypedValue> getProcessVariables(DelegateTask delegateTask) {
 
-    StringBuilder variablesBuilder = new StringBuilder();
     List<String> variableNames;
 
     // Get Task Variables
     String taskVariablesConcatenated =
-        getUserTaskExtensionProperty(delegateTask, "kadai-attributes");
+        getUserTaskExtensionProperty(delegateTask, PROPERTY_ATTRIBUTES);
 
     if (taskVariablesConcatenated != null) {
       variableNames = splitVariableNamesString(taskVariablesConcatenated);
 
     } else {
       String processVariablesConcatenated =
-          getProcessModelExtensionProperty(delegateTask, "kadai-attributes");
+          getProcessModelExtensionProperty(delegateTask, PROPERTY_ATTRIBUTES);
       if (processVariablesConcatenated != null) {
         variableNames = splitVariableNamesString(processVariablesConcatenated);
       } else {
-        return "{}";
+        return Collections.emptyMap();
       }
     }
 
-    variableNames.forEach(
-        nameOfVariableToAdd ->
-            addToVariablesBuilder(
-                delegateTask, objectMapper, variablesBuilder, nameOfVariableToAdd));
-
-    if (variablesBuilder.length() > 0) {
-      variablesBuilder.deleteCharAt(variablesBuilder.length() - 1).append("}");
-      variablesBuilder.insert(0, "{");
-    } else {
-      return "{}";
-    }
-    return variablesBuilder.toString();
-  }
-
-  private void addToVariablesBuilder(
-      DelegateTask delegateTask,
-      ObjectMapper objectMapper,
-      StringBuilder processVariablesBuilder,
-      String nameOfprocessVariableToAdd) {
-
-    TypedValue processVariable = delegateTask.getVariableTyped(nameOfprocessVariableToAdd);
-
-    if (processVariable != null) {
-
-      try {
-
-        VariableValueDto variableValueDto =
-            determineProcessVariableTypeAndCreateVariableValueDto(processVariable, objectMapper);
-
-        String variableValueDtoJson = objectMapper.writeValueAsString(variableValueDto);
-
-        processVariablesBuilder
-            .append("\"")
-            .append(nameOfprocessVariableToAdd)
-            .append("\":")
-            .append(variableValueDtoJson)
-            .append(",");
-
-      } catch (JsonProcessingException ex) {
-
-        if (CamundaListenerConfiguration.shouldCatchAndLogExceptionForFaultyProcessVariables()) {
-
-          LOGGER.error("Caught exception while trying to serialize process variables to JSON", ex);
-
-        } else {
-          throw new SystemException(
-              "Exception while trying to serialize process variables to JSON", ex);
-        }
+    Map<String, TypedValue> processVariables = new LinkedHashMap<>();
+    for (String variableName : variableNames) {
+      TypedValue processVariable = delegateTask.getVariableTyped(variableName);
+      if (processVariable != null) {
+        processVariables.put(variableName, processVariable);
       }
     }
-  }
-
-  private VariableValueDto determineProcessVariableTypeAndCreateVariableValueDto(
-      TypedValue processVariable, ObjectMapper objectMapper) throws JsonProcessingException {
-
-    VariableValueDto variableValueDto = new VariableValueDto();
-
-    if (processVariable.getType().isPrimitiveValueType()) {
-
-      variableValueDto.setType(processVariable.getType().getName());
-      variableValueDto.setValue(processVariable.getValue());
-
-    } else {
-
-      variableValueDto.setType(processVariable.getType().getName());
-
-      String processVariableJsonString =
-          objectMapper.writeValueAsString(processVariable.getValue());
-      variableValueDto.setValue(processVariableJsonString);
-
-      Map<String, Object> valueInfo = new HashMap<>();
-      valueInfo.put("serializationDataFormat", "application/json");
-      valueInfo.put("objectTypeName", processVariable.getValue().getClass());
-      variableValueDto.setValueInfo(valueInfo);
-    }
-
-    return variableValueDto;
+    return processVariables;
   }
 
   private List<String> splitVariableNamesString(String variableNamesConcatenated) {
@@ -393,53 +407,11 @@ public class KadaiTaskListener implements TaskListener {
   }
 
   private String getProcessModelExtensionProperty(DelegateTask delegateTask, String propertyKey) {
-
-    String propertyValue = null;
-
-    BpmnModelInstance model = delegateTask.getExecution().getBpmnModelInstance();
-
-    List<CamundaProperty> processModelExtensionProperties =
-        model.getModelElementsByType(CamundaProperty.class).stream()
-            .filter(camundaProperty -> camundaProperty.getCamundaName() != null)
-            .filter(camundaProperty -> camundaProperty.getCamundaName().equals(propertyKey))
-            .collect(Collectors.toList());
-
-    if (processModelExtensionProperties.isEmpty()) {
-      return propertyValue;
-    } else {
-      propertyValue = processModelExtensionProperties.get(0).getCamundaValue();
-    }
-
-    return propertyValue;
+    return extensionPropertiesCache.getProcessModelExtensionProperty(delegateTask, propertyKey);
   }
 
   private String getUserTaskExtensionProperty(DelegateTask delegateTask, String propertyKey) {
-
-    String propertyValue = null;
-
-    ExtensionElements extensionElements =
-        delegateTask.getExecution().getBpmnModelElementInstance().getExtensionElements();
-
-    if (extensionElements == null) {
-      return propertyValue;
-    } else {
-      CamundaProperties camundaProperties =
-          extensionElements.getElementsQuery().filterByType(CamundaProperties.class).singleResult();
-
-      List<CamundaProperty> userTaskExtensionProperties =
-          camundaProperties.getCamundaProperties().stream()
-              .filter(camundaProperty -> camundaProperty.getCamundaName() != null)
-              .filter(camundaProperty -> camundaProperty.getCamundaName().equals(propertyKey))
-              .collect(Collectors.toList());
-
-      if (userTaskExtensionProperties.isEmpty()) {
-        return propertyValue;
-      } else {
-        propertyValue = userTaskExtensionProperties.get(0).getCamundaValue();
-      }
-    }
-
-    return propertyValue;
+    return extensionPropertiesCache.getUserTaskExtensionProperty(delegateTask, propertyKey);
   }
 
   private String formatDate(Date date) {
@@ -451,4 +423,36 @@ public class KadaiTaskListener implements TaskListener {
           .format(date.toInstant());
     }
   }
+
+  private static class BufferedOutboxEvents {
+
+    private final DataSource dataSource;
+    private final List<OutboxEvent> events = new ArrayList<>();
+
+    private BufferedOutboxEvents(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+  }
+
+  private static class OutboxEvent {
+
+    private final String type;
+    private final Timestamp created;
+    private final String payload;
+    private final String camundaTaskId;
+    private final String systemEngineIdentifier;
+
+    private OutboxEvent(
+        String type,
+        Timestamp created,
+        String payload,
+        String camundaTaskId,
+        String systemEngineIdentifier) {
+      this.type = type;
+      this.created = created;
+      this.payload = payload;
+      this.camundaTaskId = camundaTaskId;
+      this.systemEngineIdentifier = systemEngineIdentifier;
+    }
+  }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.tasklistener;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.kadai.adapter.camunda.CamundaListenerConfiguration;
+import io.kadai.adapter.camunda.dto.ReferencedTask;
+import io.kadai.adapter.camunda.exceptions.SystemException;
+import java.io.IOException;
+import java.util.Map;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the payload of a create event in a single pass with a streaming JsonGenerator. The JSON is
+ * written by the ObjectMapper, so that it goes into the buffers Jackson recycles anyway.
+ *
+ * <p>Payloads of version 1 carry the process variables as a JSON string. Payloads of version 2 are
+ * marked with a payloadVersion field and carry the process variables as a nested JSON object.
+ */
+class ReferencedTaskJsonWriter {
+
+  static final int PAYLOAD_VERSION_STRINGIFIED_VARIABLES = 1;
+  static final int PAYLOAD_VERSION_NESTED_VARIABLES = 2;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskJsonWriter.class);
+
+  private final ObjectMapper objectMapper;
+  private final int payloadVersion;
+
+  ReferencedTaskJsonWriter(ObjectMapper objectMapper, int payloadVersion) {
+    this.objectMapper = objectMapper;
+    this.payloadVersion = payloadVersion;
+  }
+
+  /**
+   * Writes the payload of a create event.
+   *
+   * @param referencedTask the task to write, its variables are ignored
+   * @param variables the process variables to write into the payload, in the order to write them
+   * @return the payload
+   * @throws IOException if the payload could not be written
+   */
+  String write(ReferencedTask referencedTask, Map<String, TypedValue> variables)
+      throws IOException {
+
+    String variablesJson =
+        payloadVersion == PAYLOAD_VERSION_NESTED_VARIABLES ? null : writeVariables(variables);
+
+    return writeAsString(
+        generator -> writePayload(generator, referencedTask, variables, variablesJson));
+  }
+
+  private void writePayload(
+      JsonGenerator generator,
+      ReferencedTask referencedTask,
+      Map<String, TypedValue> variables,
+      String variablesJson)
+      throws IOException {
+
+    generator.writeStartObject();
+    if (payloadVersion == PAYLOAD_VERSION_NESTED_VARIABLES) {
+      generator.writeNumberField("payloadVersion", PAYLOAD_VERSION_NESTED_VARIABLES);
+    }
+    generator.writeStringField("id", referencedTask.getId());
+    generator.writeStringField("outboxEventId", referencedTask.getOutboxEventId());
+    generator.writeStringField("outboxEventType", referencedTask.getOutboxEventType());
+    generator.writeStringField("name", referencedTask.getName());
+    generator.writeStringField("assignee", referencedTask.getAssignee());
+    generator.writeStringField("created", referencedTask.getCreated());
+    generator.writeStringField("planned", referencedTask.getPlanned());
+    generator.writeStringField("due", referencedTask.getDue());
+    generator.writeStringField("description", referencedTask.getDescription());
+    generator.writeStringField("owner", referencedTask.getOwner());
+    generator.writeStringField("priority", referencedTask.getPriority());
+    generator.writeStringField("manualPriority", referencedTask.getManualPriority());
+    generator.writeStringField("suspended", referencedTask.getSuspended());
+    generator.writeStringField("systemUrl", referencedTask.getsystemUrl());
+    generator.writeStringField("taskDefinitionKey", referencedTask.getTaskDefinitionKey());
+    generator.writeStringField("businessProcessId", referencedTask.getBusinessProcessId());
+    if (payloadVersion == PAYLOAD_VERSION_NESTED_VARIABLES) {
+      generator.writeFieldName("variables");
+      writeVariables(generator, variables);
+    } else {
+      generator.writeStringField("variables", variablesJson);
+    }
+    generator.writeStringField("taskState", referencedTask.getTaskState());
+    generator.writeStringField("domain", referencedTask.getDomain());
+    generator.writeStringField("classificationKey", referencedTask.getClassificationKey());
+    generator.writeStringField("workbasketKey", referencedTask.getWorkbasketKey());
+    generator.writeStringField("customInt1", referencedTask.getCustomInt1());
+    generator.writeStringField("customInt2", referencedTask.getCustomInt2());
+    generator.writeStringField("customInt3", referencedTask.getCustomInt3());
+    generator.writeStringField("customInt4", referencedTask.getCustomInt4());
+    generator.writeStringField("customInt5", referencedTask.getCustomInt5());
+    generator.writeStringField("customInt6", referencedTask.getCustomInt6());
+    generator.writeStringField("customInt7", referencedTask.getCustomInt7());
+    generator.writeStringField("customInt8", referencedTask.getCustomInt8());
+    generator.writeEndObject();
+  }
+
+  private String writeVariables(Map<String, TypedValue> variables) throws IOException {
+
+    if (variables.isEmpty()) {
+      return "{}";
+    }
+    return writeAsString(generator -> writeVariables(generator, variables));
+  }
+
+  private void writeVariables(JsonGenerator generator, Map<String, TypedValue> variables)
+      throws IOException {
+
+    generator.writeStartObject();
+    for (Map.Entry<String, TypedValue> variable : variables.entrySet()) {
+      writeVariable(generator, variable.getKey(), variable.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeVariable(JsonGenerator generator, String name, TypedValue processVariable)
+      throws IOException {
+
+    if (processVariable.getType().isPrimitiveValueType()) {
+      generator.writeObjectFieldStart(name);
+      generator.writeStringField("type", processVariable.getType().getName());
+      generator.writeFieldName("value");
+      generator.writeObject(processVariable.getValue());
+      generator.writeNullField("valueInfo");
+      generator.writeEndObject();
+      return;
+    }
+
+    // serialize the value up front, so that a faulty variable never leaves a partial entry behind
+    String serializedValue;
+    try {
+      serializedValue = objectMapper.writeValueAsString(processVariable.getValue());
+    } catch (JsonProcessingException ex) {
+      if (CamundaListenerConfiguration.shouldCatchAndLogExceptionForFaultyProcessVariables()) {
+        LOGGER.error("Caught exception while trying to serialize process variables to JSON", ex);
+        return;
+      }
+      throw new SystemException(
+          "Exception while trying to serialize process variables to JSON", ex);
+    }
+
+    generator.writeObjectFieldStart(name);
+    generator.writeStringField("type", processVariable.getType().getName());
+    generator.writeStringField("value", serializedValue);
+    generator.writeObjectFieldStart("valueInfo");
+    generator.writeStringField("serializationDataFormat", "application/json");
+    generator.writeStringField("objectTypeName", processVariable.getValue().getClass().getName());
+    generator.writeEndObject();
+    generator.writeEndObject();
+  }
+
+  /**
+   * Lets the ObjectMapper run the given writes, since it writes into buffers recycled by Jackson
+   * and builds the String right from them.
+   *
+   * @param content the writes producing the JSON
+   * @return the JSON
+   * @throws IOException if the JSON could not be written
+   */
+  private String writeAsString(JsonContent content) throws IOException {
+
+    try {
+      return objectMapper.writeValueAsString(
+          new JsonSerializable.Base() {
+            @Override
+            public void serialize(JsonGenerator generator, SerializerProvider serializers)
+                throws IOException {
+              content.writeTo(generator);
+            }
+
+            @Override
+            public void serializeWithType(
+                JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+              serialize(generator, serializers);
+            }
+          });
+    } catch (JsonMappingException ex) {
+      // the ObjectMapper wraps exceptions for faulty process variables
+      if (ex.getCause() instanceof SystemException) {
+        throw (SystemException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  private interface JsonContent {
+
+    void writeTo(JsonGenerator generator) throws IOException;
+  }
+}
@@ -16,6 +16,27 @@ CREATE TABLE %schemaName%.event_store
     CONSTRAINT event_store_pkey PRIMARY KEY (ID)
 );
 
+CREATE INDEX %schemaName%.EVENT_STORE_POLL_IDX
+    ON %schemaName%.event_store (TYPE, BLOCKED_UNTIL, REMAINING_RETRIES);
+
+CREATE INDEX %schemaName%.EVENT_STORE_RETRIES_IDX
+    ON %schemaName%.event_store (REMAINING_RETRIES);
+
+CREATE TABLE %schemaName%.event_store_dead_letter
+(
+    ID INT NOT NULL,
+    TYPE VARCHAR(32) NOT NULL,
+    CREATED TIMESTAMP,
+    PAYLOAD CLOB,
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (ID)
+);
+
 
 CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
         ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1),
@@ -23,6 +44,6 @@ CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
         CREATED TIMESTAMP NOT NULL,
         PRIMARY KEY (ID)
 );
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.12.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 
@@ -0,0 +1,10 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+SET SCHEMA %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.13.0', CURRENT_TIMESTAMP);
+
+-- index for polling events by type, used for create as well as for complete and delete events
+CREATE INDEX IF NOT EXISTS EVENT_STORE_POLL_IDX ON event_store (TYPE, BLOCKED_UNTIL, REMAINING_RETRIES);
+
+-- index for retrieving and counting events by their remaining retries
+CREATE INDEX IF NOT EXISTS EVENT_STORE_RETRIES_IDX ON event_store (REMAINING_RETRIES);
@@ -0,0 +1,28 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+SET SCHEMA %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
+
+-- table for the events that have no remaining retries
+CREATE TABLE event_store_dead_letter
+(
+    ID INT NOT NULL,
+    TYPE VARCHAR(32) NOT NULL,
+    CREATED TIMESTAMP,
+    PAYLOAD CLOB,
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (ID)
+);
+
+INSERT INTO event_store_dead_letter (ID, TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, BLOCKED_UNTIL, ERROR, CAMUNDA_TASK_ID,
+    SYSTEM_ENGINE_IDENTIFIER, LOCK_EXPIRE)
+SELECT ID, TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, BLOCKED_UNTIL, ERROR, CAMUNDA_TASK_ID,
+    SYSTEM_ENGINE_IDENTIFIER, LOCK_EXPIRE
+FROM event_store WHERE REMAINING_RETRIES <= 0;
+
+DELETE FROM event_store WHERE REMAINING_RETRIES <= 0;
@@ -28,11 +28,36 @@ ALTER TABLE %schemaName%.EVENT_STORE ADD(
     CONSTRAINT EVENT_STORE_PKEY PRIMARY KEY (ID)
 );
 
+CREATE INDEX %schemaName%.EVENT_STORE_POLL_IDX
+    ON %schemaName%.EVENT_STORE (TYPE, BLOCKED_UNTIL, REMAINING_RETRIES);
+
+CREATE INDEX %schemaName%.EVENT_STORE_RETRIES_IDX
+    ON %schemaName%.EVENT_STORE (REMAINING_RETRIES);
+
+CREATE TABLE %schemaName%.EVENT_STORE_DEAD_LETTER
+(
+    ID NUMBER(32) NOT NULL,
+    TYPE VARCHAR(32) NOT NULL,
+    CREATED TIMESTAMP,
+    PAYLOAD CLOB,
+    REMAINING_RETRIES NUMBER(32) NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR2(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL
+    );
+
+ALTER TABLE %schemaName%.EVENT_STORE_DEAD_LETTER ADD(
+    CONSTRAINT EVENT_STORE_DEAD_LETTER_PKEY PRIMARY KEY (ID)
+);
+
 CREATE SEQUENCE EVENT_STORE_SEQ START WITH 1;
 
 CREATE OR REPLACE TRIGGER EVENT_STORE_BIR
 BEFORE INSERT ON %schemaName%.EVENT_STORE
 FOR EACH ROW
+WHEN (new.ID IS NULL)
 
 BEGIN
   SELECT EVENT_STORE_SEQ.NEXTVAL
@@ -66,7 +91,8 @@ BEGIN
 /
 
 
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.12.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 GRANT INSERT,UPDATE,SELECT,DELETE ON %schemaName%.OUTBOX_SCHEMA_VERSION TO %camundaSchemaName%;
 GRANT INSERT,UPDATE,SELECT,DELETE ON %schemaName%.EVENT_STORE TO %camundaSchemaName%;
+GRANT INSERT,UPDATE,SELECT,DELETE ON %schemaName%.EVENT_STORE_DEAD_LETTER TO %camundaSchemaName%;
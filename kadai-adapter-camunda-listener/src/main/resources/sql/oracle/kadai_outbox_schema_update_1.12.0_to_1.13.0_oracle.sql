@@ -0,0 +1,10 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+ALTER SESSION SET CURRENT_SCHEMA = %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.13.0', CURRENT_TIMESTAMP);
+
+-- index for polling events by type, used for create as well as for complete and delete events
+CREATE INDEX EVENT_STORE_POLL_IDX ON EVENT_STORE (TYPE, BLOCKED_UNTIL, REMAINING_RETRIES);
+
+-- index for retrieving and counting events by their remaining retries
+CREATE INDEX EVENT_STORE_RETRIES_IDX ON EVENT_STORE (REMAINING_RETRIES);
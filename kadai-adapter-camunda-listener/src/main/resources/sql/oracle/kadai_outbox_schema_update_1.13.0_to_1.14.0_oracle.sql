@@ -0,0 +1,41 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+ALTER SESSION SET CURRENT_SCHEMA = %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
+
+-- table for the events that have no remaining retries
+CREATE TABLE EVENT_STORE_DEAD_LETTER
+(
+    ID NUMBER(32) NOT NULL,
+    TYPE VARCHAR(32) NOT NULL,
+    CREATED TIMESTAMP,
+    PAYLOAD CLOB,
+    REMAINING_RETRIES NUMBER(32) NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR2(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT EVENT_STORE_DEAD_LETTER_PKEY PRIMARY KEY (ID)
+    );
+
+INSERT INTO EVENT_STORE_DEAD_LETTER (ID, TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, BLOCKED_UNTIL, ERROR, CAMUNDA_TASK_ID,
+    SYSTEM_ENGINE_IDENTIFIER, LOCK_EXPIRE)
+SELECT ID, TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, BLOCKED_UNTIL, ERROR, CAMUNDA_TASK_ID,
+    SYSTEM_ENGINE_IDENTIFIER, LOCK_EXPIRE
+FROM EVENT_STORE WHERE REMAINING_RETRIES <= 0;
+
+DELETE FROM EVENT_STORE WHERE REMAINING_RETRIES <= 0;
+
+-- events restored from EVENT_STORE_DEAD_LETTER keep their id
+CREATE OR REPLACE TRIGGER EVENT_STORE_BIR
+BEFORE INSERT ON EVENT_STORE
+FOR EACH ROW
+WHEN (new.ID IS NULL)
+
+BEGIN
+  SELECT EVENT_STORE_SEQ.NEXTVAL
+  INTO   :new.id
+  FROM   dual;
+  END;
+/
@@ -0,0 +1,94 @@
+CREATE SCHEMA IF NOT EXISTS %schemaName%;
+
+CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
+    ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1),
+    VERSION VARCHAR(255) NOT NULL,
+    CREATED TIMESTAMP NOT NULL,
+    PRIMARY KEY (ID)
+    );
+
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
+
+CREATE SEQUENCE IF NOT EXISTS %schemaName%.event_store_id_seq AS integer START WITH 1;
+
+-- The event_store is partitioned by type, so that a poll only reads the events of its type, and
+-- each type by the time range of CREATED, so that old events can be dropped with their partition
+-- instead of a long running DELETE. Failed events are moved into the event_store_dead_letter,
+-- which is partitioned by the time range of CREATED as well.
+--
+-- Initially every table only has a default partition. To use the time ranges, create the
+-- partitions of the coming months ahead of time, for example for November 2026:
+--   CREATE TABLE <schema>.event_store_create_2026_11 PARTITION OF <schema>.event_store_create
+--       FOR VALUES FROM ('2026-11-01') TO ('2026-12-01');
+-- and likewise for event_store_complete, event_store_delete, event_store_other and
+-- event_store_dead_letter. A partition can't be created once its default partition holds events
+-- of its range, so create it before its month starts.
+-- To remove the events of an old month, drop its partitions:
+--   DROP TABLE <schema>.event_store_create_2026_11;
+-- The events of a dropped event_store partition are lost, even if they were not processed yet,
+-- so only drop months whose events are processed or no longer of use. Events in the default
+-- partitions still have to be deleted with a DELETE.
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store
+(
+    id integer NOT NULL DEFAULT nextval('%schemaName%.event_store_id_seq'),
+    type text COLLATE pg_catalog."default" NOT NULL,
+    created timestamp(4) without time zone NOT NULL,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_pkey PRIMARY KEY (id, type, created)
+    ) PARTITION BY LIST (type);
+
+ALTER SEQUENCE %schemaName%.event_store_id_seq OWNED BY %schemaName%.event_store.id;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_create
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('create')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_create_default
+    PARTITION OF %schemaName%.event_store_create DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_complete
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('complete')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_complete_default
+    PARTITION OF %schemaName%.event_store_complete DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_delete
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('delete')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_delete_default
+    PARTITION OF %schemaName%.event_store_delete DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_other
+    PARTITION OF %schemaName%.event_store DEFAULT
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_other_default
+    PARTITION OF %schemaName%.event_store_other DEFAULT;
+
+CREATE INDEX IF NOT EXISTS event_store_poll_idx
+    ON %schemaName%.event_store (type, blocked_until, remaining_retries);
+
+CREATE INDEX IF NOT EXISTS event_store_retries_idx
+    ON %schemaName%.event_store (remaining_retries);
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_dead_letter
+(
+    id integer NOT NULL,
+    type text COLLATE pg_catalog."default",
+    created timestamp(4) without time zone NOT NULL,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (id, created)
+    ) PARTITION BY RANGE (created);
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_dead_letter_default
+    PARTITION OF %schemaName%.event_store_dead_letter DEFAULT;
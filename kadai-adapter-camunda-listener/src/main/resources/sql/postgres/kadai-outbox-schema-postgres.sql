@@ -7,7 +7,7 @@ CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
     PRIMARY KEY (ID)
     );
 
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.12.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 CREATE TABLE IF NOT EXISTS %schemaName%.event_store
 (
@@ -23,3 +23,24 @@ CREATE TABLE IF NOT EXISTS %schemaName%.event_store
     LOCK_EXPIRE TIMESTAMP NULL,
     CONSTRAINT event_store_pkey PRIMARY KEY (id)
     );
+
+CREATE INDEX IF NOT EXISTS event_store_poll_idx
+    ON %schemaName%.event_store (type, blocked_until, remaining_retries);
+
+CREATE INDEX IF NOT EXISTS event_store_retries_idx
+    ON %schemaName%.event_store (remaining_retries);
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_dead_letter
+(
+    id integer NOT NULL,
+    type text COLLATE pg_catalog."default",
+    created timestamp(4) without time zone,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (id)
+    );
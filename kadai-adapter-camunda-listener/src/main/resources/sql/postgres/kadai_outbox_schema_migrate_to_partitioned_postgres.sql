@@ -0,0 +1,102 @@
+-- this script migrates the event_store and the event_store_dead_letter of a 1.14.0 outbox schema
+-- into the partitioned layout of kadai-outbox-schema-postgres-partitioned.sql. Stop the Camunda
+-- engines and the adapters before running it, the events are copied into the new tables.
+
+-- keep the existing events aside and release the names of its sequence, keys and indexes
+ALTER TABLE %schemaName%.event_store RENAME TO event_store_unpartitioned;
+ALTER TABLE %schemaName%.event_store_unpartitioned ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE %schemaName%.event_store_unpartitioned
+    RENAME CONSTRAINT event_store_pkey TO event_store_unpartitioned_pkey;
+DROP INDEX IF EXISTS %schemaName%.event_store_poll_idx;
+DROP INDEX IF EXISTS %schemaName%.event_store_retries_idx;
+ALTER TABLE %schemaName%.event_store_dead_letter RENAME TO event_store_dead_letter_unpartitioned;
+ALTER TABLE %schemaName%.event_store_dead_letter_unpartitioned
+    RENAME CONSTRAINT event_store_dead_letter_pkey TO event_store_dead_letter_unpartitioned_pkey;
+
+CREATE SEQUENCE IF NOT EXISTS %schemaName%.event_store_id_seq AS integer START WITH 1;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store
+(
+    id integer NOT NULL DEFAULT nextval('%schemaName%.event_store_id_seq'),
+    type text COLLATE pg_catalog."default" NOT NULL,
+    created timestamp(4) without time zone NOT NULL,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_pkey PRIMARY KEY (id, type, created)
+    ) PARTITION BY LIST (type);
+
+ALTER SEQUENCE %schemaName%.event_store_id_seq OWNED BY %schemaName%.event_store.id;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_create
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('create')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_create_default
+    PARTITION OF %schemaName%.event_store_create DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_complete
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('complete')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_complete_default
+    PARTITION OF %schemaName%.event_store_complete DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_delete
+    PARTITION OF %schemaName%.event_store FOR VALUES IN ('delete')
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_delete_default
+    PARTITION OF %schemaName%.event_store_delete DEFAULT;
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_other
+    PARTITION OF %schemaName%.event_store DEFAULT
+    PARTITION BY RANGE (created);
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_other_default
+    PARTITION OF %schemaName%.event_store_other DEFAULT;
+
+CREATE INDEX IF NOT EXISTS event_store_poll_idx
+    ON %schemaName%.event_store (type, blocked_until, remaining_retries);
+
+CREATE INDEX IF NOT EXISTS event_store_retries_idx
+    ON %schemaName%.event_store (remaining_retries);
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_dead_letter
+(
+    id integer NOT NULL,
+    type text COLLATE pg_catalog."default",
+    created timestamp(4) without time zone NOT NULL,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (id, created)
+    ) PARTITION BY RANGE (created);
+
+CREATE TABLE IF NOT EXISTS %schemaName%.event_store_dead_letter_default
+    PARTITION OF %schemaName%.event_store_dead_letter DEFAULT;
+
+-- the events keep their ids, new ids continue after the highest id of both tables.
+-- CREATED is part of the partition keys, events without one are given the time of the migration.
+INSERT INTO %schemaName%.event_store (id, type, created, payload, remaining_retries, blocked_until,
+    error, camunda_task_id, system_engine_identifier, lock_expire)
+SELECT id, type, COALESCE(created, CURRENT_TIMESTAMP), payload, remaining_retries, blocked_until,
+    error, camunda_task_id, system_engine_identifier, lock_expire
+FROM %schemaName%.event_store_unpartitioned;
+
+INSERT INTO %schemaName%.event_store_dead_letter (id, type, created, payload, remaining_retries,
+    blocked_until, error, camunda_task_id, system_engine_identifier, lock_expire)
+SELECT id, type, COALESCE(created, CURRENT_TIMESTAMP), payload, remaining_retries, blocked_until,
+    error, camunda_task_id, system_engine_identifier, lock_expire
+FROM %schemaName%.event_store_dead_letter_unpartitioned;
+
+SELECT setval('%schemaName%.event_store_id_seq',
+    (SELECT COALESCE(MAX(id), 0) + 1 FROM (SELECT id FROM %schemaName%.event_store
+        UNION ALL SELECT id FROM %schemaName%.event_store_dead_letter) ids), false);
+
+DROP TABLE %schemaName%.event_store_unpartitioned;
+DROP TABLE %schemaName%.event_store_dead_letter_unpartitioned;
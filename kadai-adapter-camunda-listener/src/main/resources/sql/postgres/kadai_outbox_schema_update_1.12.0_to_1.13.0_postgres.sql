@@ -0,0 +1,10 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+SET search_path TO %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.13.0', CURRENT_TIMESTAMP);
+
+-- index for polling events by type, used for create as well as for complete and delete events
+CREATE INDEX IF NOT EXISTS event_store_poll_idx ON event_store (type, blocked_until, remaining_retries);
+
+-- index for retrieving and counting events by their remaining retries
+CREATE INDEX IF NOT EXISTS event_store_retries_idx ON event_store (remaining_retries);
@@ -0,0 +1,28 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+SET search_path TO %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
+
+-- table for the events that have no remaining retries
+CREATE TABLE IF NOT EXISTS event_store_dead_letter
+(
+    id integer NOT NULL,
+    type text COLLATE pg_catalog."default",
+    created timestamp(4) without time zone,
+    payload text COLLATE pg_catalog."default",
+    REMAINING_RETRIES INT NOT NULL,
+    BLOCKED_UNTIL TIMESTAMP NOT NULL,
+    ERROR VARCHAR(1000),
+    CAMUNDA_TASK_ID VARCHAR(40),
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LOCK_EXPIRE TIMESTAMP NULL,
+    CONSTRAINT event_store_dead_letter_pkey PRIMARY KEY (id)
+    );
+
+INSERT INTO event_store_dead_letter (id, type, created, payload, remaining_retries, blocked_until, error, camunda_task_id,
+    system_engine_identifier, lock_expire)
+SELECT id, type, created, payload, remaining_retries, blocked_until, error, camunda_task_id,
+    system_engine_identifier, lock_expire
+FROM event_store WHERE remaining_retries <= 0;
+
+DELETE FROM event_store WHERE remaining_retries <= 0;
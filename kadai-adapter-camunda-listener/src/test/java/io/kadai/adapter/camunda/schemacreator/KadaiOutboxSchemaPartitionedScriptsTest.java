@@ -0,0 +1,103 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.adapter.camunda.schemacreator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Test for the consistency of the partitioned PostgreSQL outbox schema scripts. */
+class KadaiOutboxSchemaPartitionedScriptsTest {
+
+  private static final String DB_SCHEMA_POSTGRES_PARTITIONED =
+      "/sql/postgres/kadai-outbox-schema-postgres-partitioned.sql";
+  private static final String MIGRATION_TO_PARTITIONED =
+      "/sql/postgres/kadai_outbox_schema_migrate_to_partitioned_postgres.sql";
+
+  @Test
+  void should_CreateTheSameTables_When_MigratingToThePartitionedSchema() throws Exception {
+    List<String> eventStoreStatements =
+        readStatements(DB_SCHEMA_POSTGRES_PARTITIONED).stream()
+            .filter(statement -> statement.contains("%schemaName%.event_store"))
+            .collect(Collectors.toList());
+
+    assertThat(eventStoreStatements).anyMatch(statement -> statement.contains("dead_letter"));
+    assertThat(readStatements(MIGRATION_TO_PARTITIONED)).containsAll(eventStoreStatements);
+  }
+
+  @Test
+  void should_PartitionEveryTypeAndTheDeadLetterTableByCreated_When_CreatingTheSchema()
+      throws Exception {
+    List<String> statements = readStatements(DB_SCHEMA_POSTGRES_PARTITIONED);
+
+    for (String table :
+        Arrays.asList(
+            "event_store_create",
+            "event_store_complete",
+            "event_store_delete",
+            "event_store_other",
+            "event_store_dead_letter")) {
+      assertThat(statements)
+          .anyMatch(
+              statement ->
+                  statement.startsWith("CREATE TABLE IF NOT EXISTS %schemaName%." + table + " ")
+                      && statement.endsWith("PARTITION BY RANGE (created)"))
+          .contains(
+              "CREATE TABLE IF NOT EXISTS %schemaName%."
+                  + table
+                  + "_default PARTITION OF %schemaName%."
+                  + table
+                  + " DEFAULT");
+    }
+    assertThat(statements).noneMatch(statement -> statement.contains("_failed"));
+  }
+
+  private static List<String> readStatements(String script) throws IOException {
+    StringBuilder content = new StringBuilder();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                KadaiOutboxSchemaPartitionedScriptsTest.class.getResourceAsStream(script),
+                StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.trim().startsWith("--")) {
+          content.append(line).append(' ');
+        }
+      }
+    }
+    List<String> statements = new ArrayList<>();
+    for (String statement : content.toString().split(";")) {
+      String normalized = statement.trim().replaceAll("\\s+", " ");
+      if (!normalized.isEmpty()) {
+        statements.add(normalized);
+      }
+    }
+    return statements;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.tasklistener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.kadai.adapter.camunda.dto.ReferencedTask;
+import io.kadai.adapter.camunda.mapper.JacksonConfigurator;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.junit.jupiter.api.Test;
+
+/** Test for the ReferencedTaskJsonWriter, comparing its payloads with the ReferencedTask DTO. */
+class ReferencedTaskJsonWriterTest {
+
+  private static final String VARIABLES_JSON =
+      "{\"amount\":{\"type\":\"integer\",\"value\":5,\"valueInfo\":null},"
+          + "\"comment\":{\"type\":\"string\",\"value\":\"urgent\",\"valueInfo\":null}}";
+
+  private final ObjectMapper objectMapper = JacksonConfigurator.createAndConfigureObjectMapper();
+
+  @Test
+  void should_WriteSameFieldsAsTheDto_When_PayloadVersionIsOne() throws Exception {
+    ReferencedTaskJsonWriter writer =
+        new ReferencedTaskJsonWriter(
+            objectMapper, ReferencedTaskJsonWriter.PAYLOAD_VERSION_STRINGIFIED_VARIABLES);
+    ReferencedTask referencedTask = referencedTaskWithAllFieldsSet();
+
+    JsonNode payload = objectMapper.readTree(writer.write(referencedTask, variables()));
+
+    assertThat(objectMapper.readTree(payload.get("variables").asText()))
+        .isEqualTo(objectMapper.readTree(VARIABLES_JSON));
+    referencedTask.setVariables(payload.get("variables").asText());
+    assertThat(payload).isEqualTo(objectMapper.valueToTree(referencedTask));
+  }
+
+  @Test
+  void should_WriteSameFieldsAsTheDto_When_PayloadVersionIsTwo() throws Exception {
+    ReferencedTaskJsonWriter writer =
+        new ReferencedTaskJsonWriter(
+            objectMapper, ReferencedTaskJsonWriter.PAYLOAD_VERSION_NESTED_VARIABLES);
+    ReferencedTask referencedTask = referencedTaskWithAllFieldsSet();
+
+    ObjectNode payload =
+        (ObjectNode) objectMapper.readTree(writer.write(referencedTask, variables()));
+
+    assertThat(payload.remove("payloadVersion").asInt())
+        .isEqualTo(ReferencedTaskJsonWriter.PAYLOAD_VERSION_NESTED_VARIABLES);
+    assertThat(payload.remove("variables")).isEqualTo(objectMapper.readTree(VARIABLES_JSON));
+    ObjectNode expectedPayload = objectMapper.valueToTree(referencedTask);
+    expectedPayload.remove("variables");
+    assertThat(payload).isEqualTo(expectedPayload);
+  }
+
+  @Test
+  void should_WriteEmptyVariables_When_TaskHasNoVariables() throws Exception {
+    ReferencedTaskJsonWriter writer =
+        new ReferencedTaskJsonWriter(
+            objectMapper, ReferencedTaskJsonWriter.PAYLOAD_VERSION_STRINGIFIED_VARIABLES);
+
+    JsonNode payload =
+        objectMapper.readTree(
+            writer.write(referencedTaskWithAllFieldsSet(), new LinkedHashMap<>()));
+
+    assertThat(payload.get("variables").asText()).isEqualTo("{}");
+  }
+
+  // sets every field, so that a field added to the DTO but not to the writer fails the comparison
+  private static ReferencedTask referencedTaskWithAllFieldsSet() throws Exception {
+    ReferencedTask referencedTask = new ReferencedTask();
+    for (Method method : ReferencedTask.class.getMethods()) {
+      if (method.getName().startsWith("set")
+          && method.getParameterCount() == 1
+          && method.getParameterTypes()[0] == String.class) {
+        method.invoke(referencedTask, "value of " + method.getName().substring(3));
+      }
+    }
+    return referencedTask;
+  }
+
+  private static Map<String, TypedValue> variables() {
+    Map<String, TypedValue> variables = new LinkedHashMap<>();
+    variables.put("amount", Variables.integerValue(5));
+    variables.put("comment", Variables.stringValue("urgent"));
+    return variables;
+  }
+}
@@ -20,7 +20,10 @@ package io.kadai.adapter.camunda.outbox.rest.spring.boot.starter.config;
 
 import io.kadai.adapter.camunda.outbox.rest.config.OutboxRestServiceConfig;
 import io.kadai.adapter.camunda.outbox.rest.controller.CamundaTaskEventsController;
+import io.kadai.adapter.camunda.outbox.rest.controller.CamundaTaskOperationsController;
+import io.kadai.adapter.camunda.outbox.rest.service.OutboxLongPolling;
 import io.kadai.adapter.camunda.parselistener.KadaiParseListenerProcessEnginePlugin;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -29,7 +32,7 @@ import org.springframework.context.annotation.Configuration;
 /** Configuration for the outbox REST service. */
 @Configuration
 @ConditionalOnClass(CamundaTaskEventsController.class)
-public class OutboxRestServiceAutoConfiguration {
+public class OutboxRestServiceAutoConfiguration implements DisposableBean {
 
   @Bean
   @ConditionalOnMissingBean
@@ -43,9 +46,21 @@ public class OutboxRestServiceAutoConfiguration {
     return new CamundaTaskEventsController();
   }
 
+  @Bean
+  @ConditionalOnMissingBean
+  public CamundaTaskOperationsController camundaTaskOperationsController() {
+    return new CamundaTaskOperationsController();
+  }
+
   @Bean
   @ConditionalOnMissingBean
   public KadaiParseListenerProcessEnginePlugin kadaiParseListenerProcessEnginePlugin() {
     return new KadaiParseListenerProcessEnginePlugin();
   }
+
+  @Override
+  public void destroy() {
+    // the long poll threads must not outlive the application
+    OutboxLongPolling.shutdown();
+  }
 }
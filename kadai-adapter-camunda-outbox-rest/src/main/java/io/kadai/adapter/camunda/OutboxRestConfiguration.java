@@ -40,16 +40,56 @@ public class OutboxRestConfiguration {
       "kadai.adapter.outbox.datasource.username";
   private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_PASSWORD =
       "kadai.adapter.outbox.datasource.password";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_ACTIVE_CONNECTIONS =
+      "kadai.adapter.outbox.datasource.pool.maximum.active.connections";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_IDLE_CONNECTIONS =
+      "kadai.adapter.outbox.datasource.pool.maximum.idle.connections";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_CHECKOUT_TIME =
+      "kadai.adapter.outbox.datasource.pool.maximum.checkout.time";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_TIME_TO_WAIT =
+      "kadai.adapter.outbox.datasource.pool.time.to.wait";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_PING_QUERY =
+      "kadai.adapter.outbox.datasource.pool.ping.query";
+  private static final String KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_PING_CONNECTIONS_NOT_USED_FOR =
+      "kadai.adapter.outbox.datasource.pool.ping.connections.not.used.for";
   private static final String KADAI_ADAPTER_OUTBOX_MAX_NUMBER_OF_EVENTS =
       "kadai.adapter.outbox.max.number.of.events";
   private static final String KADAI_ADAPTER_OUTBOX_DURATION_BETWEEN_TASK_CREATION_RETRIES =
       "kadai.adapter.outbox.duration.between.task.creation.retries";
+  private static final String KADAI_ADAPTER_OUTBOX_PROCESS_ENGINE_NAME =
+      "kadai.adapter.outbox.process.engine.name";
+  private static final String KADAI_ADAPTER_OUTBOX_LONG_POLL_INTERVAL =
+      "kadai.adapter.outbox.long.poll.interval";
+  private static final String KADAI_ADAPTER_OUTBOX_LONG_POLL_MAXIMUM_WAIT =
+      "kadai.adapter.outbox.long.poll.maximum.wait";
+  private static final String KADAI_ADAPTER_OUTBOX_LONG_POLL_MAXIMUM_WAITERS =
+      "kadai.adapter.outbox.long.poll.maximum.waiters";
+  private static final String KADAI_ADAPTER_OUTBOX_LONG_POLL_THREADS =
+      "kadai.adapter.outbox.long.poll.threads";
+  private static final String KADAI_ADAPTER_OUTBOX_LONG_POLL_EXECUTOR_JNDI =
+      "kadai.adapter.outbox.long.poll.executor.jndi";
+  private static final String KADAI_ADAPTER_OUTBOX_LISTING_DEFAULT_PAGE_SIZE =
+      "kadai.adapter.outbox.listing.default.page.size";
+  private static final String KADAI_ADAPTER_OUTBOX_LISTING_MAXIMUM_PAGE_SIZE =
+      "kadai.adapter.outbox.listing.maximum.page.size";
   private static final String OUTBOX_SYSTEM_PROPERTY = "kadai.outbox.properties";
 
   private static final String OUTBOX_SCHEMA_DEFAULT = "kadai_tables";
-  private static final int MAX_NUMBER_OF_EVENTS_DEFAULT = 50;
+  private static final String PROCESS_ENGINE_NAME_DEFAULT = "default";
+  private static final int MAX_NUMBER_OF_EVENTS_DEFAULT = 57;
   private static final Duration DURATION_BETWEEN_TASK_CREATION_RETRIES_DEFAULT =
       Duration.ofHours(1);
+  private static final int POOL_MAXIMUM_ACTIVE_CONNECTIONS_DEFAULT = 10;
+  private static final int POOL_MAXIMUM_IDLE_CONNECTIONS_DEFAULT = 5;
+  private static final Duration POOL_MAXIMUM_CHECKOUT_TIME_DEFAULT = Duration.ofSeconds(20);
+  private static final Duration POOL_TIME_TO_WAIT_DEFAULT = Duration.ofSeconds(20);
+  private static final Duration POOL_PING_CONNECTIONS_NOT_USED_FOR_DEFAULT = Duration.ZERO;
+  private static final Duration LONG_POLL_INTERVAL_DEFAULT = Duration.ofMillis(500);
+  private static final Duration LONG_POLL_MAXIMUM_WAIT_DEFAULT = Duration.ofSeconds(30);
+  private static final int LONG_POLL_MAXIMUM_WAITERS_DEFAULT = 100;
+  private static final int LONG_POLL_THREADS_DEFAULT = 2;
+  private static final int LISTING_DEFAULT_PAGE_SIZE_DEFAULT = 100;
+  private static final int LISTING_MAXIMUM_PAGE_SIZE_DEFAULT = 1000;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRestConfiguration.class);
 
@@ -121,6 +161,137 @@ public class OutboxRestConfiguration {
     return getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_DATASOURCE_PASSWORD);
   }
 
+  public static int getOutboxDatasourcePoolMaximumActiveConnections() {
+    return getIntProperty(
+        KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_ACTIVE_CONNECTIONS,
+        POOL_MAXIMUM_ACTIVE_CONNECTIONS_DEFAULT);
+  }
+
+  public static int getOutboxDatasourcePoolMaximumIdleConnections() {
+    return getIntProperty(
+        KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_IDLE_CONNECTIONS,
+        POOL_MAXIMUM_IDLE_CONNECTIONS_DEFAULT);
+  }
+
+  /**
+   * Returns the time a connection may be checked out before the pool reclaims it for a waiting
+   * request and logs it as overdue.
+   *
+   * @return the maximum checkout time
+   */
+  public static Duration getOutboxDatasourcePoolMaximumCheckoutTime() {
+    return getDurationProperty(
+        KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_MAXIMUM_CHECKOUT_TIME,
+        POOL_MAXIMUM_CHECKOUT_TIME_DEFAULT);
+  }
+
+  public static Duration getOutboxDatasourcePoolTimeToWait() {
+    return getDurationProperty(
+        KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_TIME_TO_WAIT, POOL_TIME_TO_WAIT_DEFAULT);
+  }
+
+  public static String getOutboxDatasourcePoolPingQuery() {
+    return getInstance()
+        .outboxProperties
+        .getProperty(KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_PING_QUERY);
+  }
+
+  /**
+   * Returns the time after which an idle connection is validated with the ping query before it
+   * is handed out again.
+   *
+   * @return the idle time before a connection is validated
+   */
+  public static Duration getOutboxDatasourcePoolPingConnectionsNotUsedFor() {
+    return getDurationProperty(
+        KADAI_ADAPTER_OUTBOX_DATASOURCE_POOL_PING_CONNECTIONS_NOT_USED_FOR,
+        POOL_PING_CONNECTIONS_NOT_USED_FOR_DEFAULT);
+  }
+
+  /**
+   * Returns the interval in which a long polling request looks for new events while it waits.
+   *
+   * @return the long poll interval
+   */
+  public static Duration getOutboxLongPollInterval() {
+    return getDurationProperty(KADAI_ADAPTER_OUTBOX_LONG_POLL_INTERVAL, LONG_POLL_INTERVAL_DEFAULT);
+  }
+
+  /**
+   * Returns the maximum time a long polling request waits for new events, regardless of the time
+   * requested by the client.
+   *
+   * @return the maximum long poll wait
+   */
+  public static Duration getOutboxLongPollMaximumWait() {
+    return getDurationProperty(
+        KADAI_ADAPTER_OUTBOX_LONG_POLL_MAXIMUM_WAIT, LONG_POLL_MAXIMUM_WAIT_DEFAULT);
+  }
+
+  /**
+   * Returns the maximum number of long polling requests waiting for new events at the same time.
+   * Further requests are answered right away.
+   *
+   * @return the maximum number of waiting long polling requests
+   */
+  public static int getOutboxLongPollMaximumWaiters() {
+    return getIntProperty(
+        KADAI_ADAPTER_OUTBOX_LONG_POLL_MAXIMUM_WAITERS, LONG_POLL_MAXIMUM_WAITERS_DEFAULT);
+  }
+
+  /**
+   * Returns the number of threads that look for new events for the waiting long polling requests,
+   * if no executor is provided via JNDI.
+   *
+   * @return the number of long poll threads
+   */
+  public static int getOutboxLongPollThreads() {
+    return Math.max(
+        1, getIntProperty(KADAI_ADAPTER_OUTBOX_LONG_POLL_THREADS, LONG_POLL_THREADS_DEFAULT));
+  }
+
+  /**
+   * Returns the number of events a page of an event listing holds, if the client requests no
+   * limit.
+   *
+   * @return the default page size of the event listings
+   */
+  public static int getOutboxListingDefaultPageSize() {
+    return Math.max(
+        1,
+        getIntProperty(
+            KADAI_ADAPTER_OUTBOX_LISTING_DEFAULT_PAGE_SIZE, LISTING_DEFAULT_PAGE_SIZE_DEFAULT));
+  }
+
+  /**
+   * Returns the maximum number of events a page of an event listing holds, regardless of the
+   * limit requested by the client.
+   *
+   * @return the maximum page size of the event listings
+   */
+  public static int getOutboxListingMaximumPageSize() {
+    return Math.max(
+        1,
+        getIntProperty(
+            KADAI_ADAPTER_OUTBOX_LISTING_MAXIMUM_PAGE_SIZE, LISTING_MAXIMUM_PAGE_SIZE_DEFAULT));
+  }
+
+  public static String getOutboxLongPollExecutorJndi() {
+    return getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_LONG_POLL_EXECUTOR_JNDI);
+  }
+
+  public static String getProcessEngineName() {
+
+    String processEngineName =
+        getInstance().outboxProperties.getProperty(KADAI_ADAPTER_OUTBOX_PROCESS_ENGINE_NAME);
+
+    if (processEngineName == null || processEngineName.isEmpty()) {
+      return PROCESS_ENGINE_NAME_DEFAULT;
+    } else {
+      return processEngineName;
+    }
+  }
+
   public static int getOutboxMaxNumberOfEvents() {
 
     int maxNumberOfEventsReturned;
@@ -172,6 +343,44 @@ public class OutboxRestConfiguration {
     }
   }
 
+  private static int getIntProperty(String key, int defaultValue) {
+
+    String property = getInstance().outboxProperties.getProperty(key);
+
+    if (property == null || property.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(property.trim());
+    } catch (NumberFormatException e) {
+      LOGGER.warn(
+          String.format(
+              "Attempted to retrieve property %s and caught Exception. Setting default to %d ",
+              key, defaultValue),
+          e);
+      return defaultValue;
+    }
+  }
+
+  private static Duration getDurationProperty(String key, Duration defaultValue) {
+
+    String property = getInstance().outboxProperties.getProperty(key);
+
+    if (property == null || property.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Duration.parse(property.trim());
+    } catch (Exception e) {
+      LOGGER.warn(
+          String.format(
+              "Attempted to retrieve property %s and caught Exception. Setting default to %s ",
+              key, defaultValue),
+          e);
+      return defaultValue;
+    }
+  }
+
   private void readPropertiesFromClasspath() {
     try (InputStream propertiesStream =
         this.getClass().getClassLoader().getResourceAsStream(KADAI_OUTBOX_PROPERTIES)) {
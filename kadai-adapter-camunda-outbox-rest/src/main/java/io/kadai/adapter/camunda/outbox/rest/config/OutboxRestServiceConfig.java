@@ -19,7 +19,9 @@
 package io.kadai.adapter.camunda.outbox.rest.config;
 
 import io.kadai.adapter.camunda.outbox.rest.controller.CamundaTaskEventsController;
+import io.kadai.adapter.camunda.outbox.rest.controller.CamundaTaskOperationsController;
 import io.kadai.adapter.camunda.outbox.rest.exception.CamundaTaskEventNotFoundExceptionMapper;
+import io.kadai.adapter.camunda.outbox.rest.exception.CamundaTaskNotFoundExceptionMapper;
 import io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentExceptionMapper;
 import io.kadai.adapter.camunda.outbox.rest.exception.JsonParseExceptionMapper;
 import io.kadai.adapter.camunda.outbox.rest.exception.MismatchedInputExceptionMapper;
@@ -36,8 +38,10 @@ public class OutboxRestServiceConfig extends Application {
   public Set<Class<?>> getClasses() {
     Set<Class<?>> classesToBeScanned = new HashSet<>();
     classesToBeScanned.add(CamundaTaskEventsController.class);
+    classesToBeScanned.add(CamundaTaskOperationsController.class);
     classesToBeScanned.add(InvalidArgumentExceptionMapper.class);
     classesToBeScanned.add(CamundaTaskEventNotFoundExceptionMapper.class);
+    classesToBeScanned.add(CamundaTaskNotFoundExceptionMapper.class);
     classesToBeScanned.add(JsonParseExceptionMapper.class);
     classesToBeScanned.add(MismatchedInputExceptionMapper.class);
     return classesToBeScanned;
@@ -36,10 +36,13 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import java.util.List;
 import java.util.Map;
@@ -61,20 +64,30 @@ public class CamundaTaskEventsController {
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public Response getEvents(@Context UriInfo uriInfo) throws InvalidArgumentException {
-
-    CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
+  public void getEvents(@Context UriInfo uriInfo, @Suspended AsyncResponse asyncResponse) {
 
     MultivaluedMap<String, String> filterParams = uriInfo.getQueryParameters();
 
-    List<CamundaTaskEvent> camundaTaskEvents = camundaTaskEventService.getEvents(filterParams);
-
-    camundaTaskEventList.setCamundaTaskEvents(camundaTaskEvents);
-
-    CamundaTaskEventListResource camundaTaskEventListResource =
-        camundaTaskEventListResourceAssembler.toResource(camundaTaskEventList);
-
-    return Response.status(200).entity(camundaTaskEventListResource).build();
+    try {
+      if (camundaTaskEventService.isStreamRequested(filterParams)) {
+        StreamingOutput camundaTaskEventStream = camundaTaskEventService.streamEvents(filterParams);
+        asyncResponse.resume(Response.status(200).entity(camundaTaskEventStream).build());
+        return;
+      }
+
+      camundaTaskEventService
+          .getEvents(filterParams)
+          .whenComplete(
+              (camundaTaskEvents, error) -> {
+                if (error != null) {
+                  asyncResponse.resume(error);
+                } else {
+                  resumeWithEvents(asyncResponse, filterParams, camundaTaskEvents);
+                }
+              });
+    } catch (InvalidArgumentException e) {
+      asyncResponse.resume(e);
+    }
   }
 
   @Path(Mapping.URL_EVENT)
@@ -215,4 +228,36 @@ public class CamundaTaskEventsController {
 
     return Response.status(200).entity(failedEventsCount).build();
   }
+
+  @GET
+  @Path(Mapping.URL_DATASOURCE_POOL_METRICS)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getDataSourcePoolMetrics() {
+
+    String dataSourcePoolMetrics = camundaTaskEventService.getDataSourcePoolMetrics();
+
+    return Response.status(200).entity(dataSourcePoolMetrics).build();
+  }
+
+  private void resumeWithEvents(
+      AsyncResponse asyncResponse,
+      MultivaluedMap<String, String> filterParams,
+      List<CamundaTaskEvent> camundaTaskEvents) {
+
+    CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
+    camundaTaskEventList.setCamundaTaskEvents(camundaTaskEvents);
+
+    try {
+      camundaTaskEventList.setNextAfterId(
+          camundaTaskEventService.getNextAfterId(filterParams, camundaTaskEvents));
+    } catch (InvalidArgumentException e) {
+      asyncResponse.resume(e);
+      return;
+    }
+
+    CamundaTaskEventListResource camundaTaskEventListResource =
+        camundaTaskEventListResourceAssembler.toResource(camundaTaskEventList);
+
+    asyncResponse.resume(Response.status(200).entity(camundaTaskEventListResource).build());
+  }
 }
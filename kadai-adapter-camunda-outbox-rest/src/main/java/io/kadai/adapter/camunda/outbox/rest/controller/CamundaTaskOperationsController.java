@@ -0,0 +1,87 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.controller;
+
+import io.kadai.adapter.camunda.outbox.rest.exception.CamundaTaskNotFoundException;
+import io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskOperationResult;
+import io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskOperationResultListResource;
+import io.kadai.adapter.camunda.outbox.rest.service.CamundaTaskOperationsService;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * Controller that completes, claims and cancels claims of Camunda tasks on behalf of the KADAI
+ * Adapter. The bulk operations return a result for each task of the request.
+ */
+@Path(Mapping.URL_TASKS)
+public class CamundaTaskOperationsController {
+
+  CamundaTaskOperationsService camundaTaskOperationsService = new CamundaTaskOperationsService();
+
+  @Path(Mapping.URL_COMPLETE_TASK)
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  public Response completeTask(@PathParam("taskId") final String taskId, String body)
+      throws InvalidArgumentException, CamundaTaskNotFoundException {
+
+    camundaTaskOperationsService.completeTask(taskId, body);
+
+    return Response.status(204).build();
+  }
+
+  @Path(Mapping.URL_COMPLETE_TASKS)
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response completeTasks(String body) throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = camundaTaskOperationsService.completeTasks(body);
+
+    return Response.status(200).entity(new CamundaTaskOperationResultListResource(results)).build();
+  }
+
+  @Path(Mapping.URL_CLAIM_TASKS)
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response claimTasks(String body) throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = camundaTaskOperationsService.claimTasks(body);
+
+    return Response.status(200).entity(new CamundaTaskOperationResultListResource(results)).build();
+  }
+
+  @Path(Mapping.URL_CANCEL_CLAIM_TASKS)
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response cancelClaimTasks(String body) throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = camundaTaskOperationsService.cancelClaimTasks(body);
+
+    return Response.status(200).entity(new CamundaTaskOperationResultListResource(results)).build();
+  }
+}
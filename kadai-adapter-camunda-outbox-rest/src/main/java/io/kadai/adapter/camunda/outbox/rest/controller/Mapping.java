@@ -29,6 +29,12 @@ public final class Mapping {
   public static final String URL_UNLOCK_EVENT = "/unlock-event" + URL_EVENT;
   public static final String DELETE_FAILED_EVENTS = "/delete-failed-events";
   public static final String URL_COUNT_FAILED_EVENTS = "/count";
+  public static final String URL_DATASOURCE_POOL_METRICS = "/datasource-pool-metrics";
+  public static final String URL_TASKS = "/tasks";
+  public static final String URL_COMPLETE_TASK = "/{taskId}/complete";
+  public static final String URL_COMPLETE_TASKS = "/complete";
+  public static final String URL_CLAIM_TASKS = "/claim";
+  public static final String URL_CANCEL_CLAIM_TASKS = "/unclaim";
 
   private Mapping() {}
 }
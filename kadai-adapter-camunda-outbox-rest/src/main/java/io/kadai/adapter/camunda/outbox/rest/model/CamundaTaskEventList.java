@@ -25,6 +25,7 @@ import java.util.List;
 public class CamundaTaskEventList implements Serializable {
 
   private List<CamundaTaskEvent> camundaTaskEvents;
+  private Integer nextAfterId;
 
   public List<CamundaTaskEvent> getCamundaTaskEvents() {
     return camundaTaskEvents;
@@ -33,4 +34,12 @@ public class CamundaTaskEventList implements Serializable {
   public void setCamundaTaskEvents(List<CamundaTaskEvent> theResources) {
     this.camundaTaskEvents = theResources;
   }
+
+  public Integer getNextAfterId() {
+    return nextAfterId;
+  }
+
+  public void setNextAfterId(Integer nextAfterId) {
+    this.nextAfterId = nextAfterId;
+  }
 }
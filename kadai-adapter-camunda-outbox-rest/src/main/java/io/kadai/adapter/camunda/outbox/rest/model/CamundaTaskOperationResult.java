@@ -0,0 +1,72 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.model;
+
+import java.io.Serializable;
+
+/** POJO that represents the result of an operation on a single Camunda task. */
+public class CamundaTaskOperationResult implements Serializable {
+
+  private String taskId;
+  private int status;
+  private String message;
+
+  public CamundaTaskOperationResult() {}
+
+  public CamundaTaskOperationResult(String taskId, int status, String message) {
+    this.taskId = taskId;
+    this.status = status;
+    this.message = message;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  @Override
+  public String toString() {
+    return "CamundaTaskOperationResult [taskId="
+        + taskId
+        + ", status="
+        + status
+        + ", message="
+        + message
+        + "]";
+  }
+}
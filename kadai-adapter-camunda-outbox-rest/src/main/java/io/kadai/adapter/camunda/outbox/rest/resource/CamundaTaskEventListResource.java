@@ -30,12 +30,14 @@ import java.util.List;
 public class CamundaTaskEventListResource implements Serializable {
 
   private List<CamundaTaskEvent> camundaTaskEvents;
+  private Integer nextAfterId;
 
   public CamundaTaskEventListResource() {}
 
   public CamundaTaskEventListResource(
       CamundaTaskEventList camundaTaskEventList) {
     this.camundaTaskEvents = camundaTaskEventList.getCamundaTaskEvents();
+    this.nextAfterId = camundaTaskEventList.getNextAfterId();
   }
 
   public List<CamundaTaskEvent> getCamundaTaskEvents() {
@@ -45,4 +47,17 @@ public class CamundaTaskEventListResource implements Serializable {
   public void setCamundaTaskEvents(List<CamundaTaskEvent> theResources) {
     this.camundaTaskEvents = theResources;
   }
+
+  /**
+   * Returns the value of the after-id param to request the next page of events with.
+   *
+   * @return the id of the last returned event, or null if there is no next page
+   */
+  public Integer getNextAfterId() {
+    return nextAfterId;
+  }
+
+  public void setNextAfterId(Integer nextAfterId) {
+    this.nextAfterId = nextAfterId;
+  }
 }
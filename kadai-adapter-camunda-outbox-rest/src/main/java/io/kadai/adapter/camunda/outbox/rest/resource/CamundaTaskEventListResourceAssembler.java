@@ -33,6 +33,7 @@ public class CamundaTaskEventListResourceAssembler {
   public CamundaTaskEventList toModel(CamundaTaskEventListResource camundaTaskEventListResource) {
     CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
     camundaTaskEventList.setCamundaTaskEvents(camundaTaskEventListResource.getCamundaTaskEvents());
+    camundaTaskEventList.setNextAfterId(camundaTaskEventListResource.getNextAfterId());
 
     return camundaTaskEventList;
   }
@@ -22,8 +22,11 @@ import io.kadai.adapter.camunda.OutboxRestConfiguration;
 import io.kadai.adapter.camunda.outbox.rest.exception.CamundaTaskEventNotFoundException;
 import io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
 import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -35,19 +38,24 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import javax.naming.InitialContext;
-import javax.naming.NamingException;
-import javax.sql.DataSource;
-import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import spinjar.com.fasterxml.jackson.core.JsonGenerator;
 import spinjar.com.fasterxml.jackson.databind.JsonNode;
 import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
+import spinjar.com.fasterxml.jackson.databind.ObjectWriter;
+import spinjar.com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * Implementation of the Outbox REST service.
@@ -62,98 +70,246 @@ public class CamundaTaskEventsService {
   private static final String TYPE = "type";
 
   private static final String LOCK_FOR = "lock-for";
+  private static final String AFTER_ID = "after-id";
+  private static final String LIMIT = "limit";
+  private static final String STREAM = "stream";
+  private static final String WAIT_FOR = "wait-for";
+  private static final String DEAD_LETTER = "dead-letter";
 
-  private static final List<String> ALLOWED_PARAMS = Stream.of(TYPE, RETRIES, LOCK_FOR)
-      .collect(Collectors.toList());
+  private static final List<String> ALLOWED_PARAMS =
+      Stream.of(TYPE, RETRIES, LOCK_FOR, AFTER_ID, LIMIT, STREAM, WAIT_FOR, DEAD_LETTER)
+          .collect(Collectors.toList());
 
   private static final String OUTBOX_SCHEMA = OutboxRestConfiguration.getOutboxSchema();
+  private static final String EVENT_STORE = "event_store";
+  private static final String EVENT_STORE_DEAD_LETTER = "event_store_dead_letter";
+  private static final int MAX_NUMBER_OF_EVENTS_RETURNED =
+      OutboxRestConfiguration.getOutboxMaxNumberOfEvents();
+  private static final Duration LONG_POLL_INTERVAL =
+      OutboxRestConfiguration.getOutboxLongPollInterval();
+  private static final Duration LONG_POLL_MAXIMUM_WAIT =
+      OutboxRestConfiguration.getOutboxLongPollMaximumWait();
+  private static final int LISTING_DEFAULT_PAGE_SIZE =
+      OutboxRestConfiguration.getOutboxListingDefaultPageSize();
+  private static final int LISTING_MAXIMUM_PAGE_SIZE =
+      OutboxRestConfiguration.getOutboxListingMaximumPageSize();
+
+  // the statement texts are computed once, so that the driver and the database can reuse them
   private static final String SQL_GET_CREATE_EVENTS =
-      "select * from %s.event_store where type = ? "
-          + "and remaining_retries>0 and blocked_until < ? fetch first %d rows only";
-  private static final String SQL_GET_AVAILABLE_CREATE_EVENTS =
-      "select * from %s.event_store where type = ? and (lock_expire < ? or lock_expire is null) "
-          + "and remaining_retries>0 and blocked_until < ? fetch first %d rows only for update";
-  private static final String SQL_GET_ALL_EVENTS = "select * from %s.event_store";
+      String.format(
+          "select * from %s.event_store where type = ? "
+              + "and remaining_retries>0 and blocked_until < ? fetch first %d rows only",
+          OUTBOX_SCHEMA,
+          MAX_NUMBER_OF_EVENTS_RETURNED);
+  private static final Map<OutboxDialect, ClaimStatements> SQL_CLAIM_CREATE_EVENTS =
+      ClaimStatements.forAllDialects(
+          "type = ? and (lock_expire < ? or lock_expire is null) "
+              + "and remaining_retries>0 and blocked_until < ?");
+  // the listings are ordered by id and start after the given id, so that they can be paged
+  private static final String SQL_GET_ALL_EVENTS =
+      String.format("select * from %s.event_store where id > ? order by id", OUTBOX_SCHEMA);
   private static final String SQL_GET_ALL_AVAILABLE_EVENTS =
-      "select * from %s.event_store where lock_expire "
-          + "< ? or lock_expire is null for update";
-  private static final String SQL_GET_EVENT = "select * from %s.event_store where id = ? ";
+      String.format(
+          "select * from %s.event_store where id > ? "
+              + "and (lock_expire < ? or lock_expire is null) order by id for update",
+          OUTBOX_SCHEMA);
+  private static final String SQL_GET_EVENT =
+      String.format(
+          "select * from %1$s.event_store where id = ? "
+              + "union all select * from %1$s.event_store_dead_letter where id = ?",
+          OUTBOX_SCHEMA);
   private static final String SQL_GET_COMPLETE_AND_DELETE_EVENTS =
-      "select * from %s.event_store where type = ? OR type = ? fetch first %d rows only";
-  private static final String SQL_GET_AVAILABLE_COMPLETE_AND_DELETE_EVENTS =
-      "select * from %s.event_store where (type = ? OR type = ?) and (lock_expire < ? or"
-          + " lock_expire is null)"
-          + " fetch first %d rows only for update";
+      String.format(
+          "select * from %s.event_store where type in (?, ?) fetch first %d rows only",
+          OUTBOX_SCHEMA,
+          MAX_NUMBER_OF_EVENTS_RETURNED);
+  private static final Map<OutboxDialect, ClaimStatements> SQL_CLAIM_COMPLETE_AND_DELETE_EVENTS =
+      ClaimStatements.forAllDialects("type in (?, ?) and (lock_expire < ? or lock_expire is null)");
   private static final String SQL_GET_EVENTS_FILTERED_BY_RETRIES =
-      "select * from %s.event_store where remaining_retries = ?";
-
+      String.format(
+          "select * from %s.event_store where remaining_retries = ? and id > ? order by id",
+          OUTBOX_SCHEMA);
   private static final String SQL_GET_AVAILABLE_EVENTS_FILTERED_BY_RETRIES =
-      "select * from %s.event_store where remaining_retries = ? and lock_expire "
-          + "< ? or lock_expire is null for update";
+      String.format(
+          "select * from %s.event_store where remaining_retries = ? and id > ? and (lock_expire "
+              + "< ? or lock_expire is null) order by id for update",
+          OUTBOX_SCHEMA);
+  private static final String SQL_GET_DEAD_LETTER_EVENTS_FILTERED_BY_RETRIES =
+      String.format(
+          "select * from %s.event_store_dead_letter where remaining_retries = ? and id > ? "
+              + "order by id",
+          OUTBOX_SCHEMA);
+  private static final String SQL_GET_ALL_DEAD_LETTER_EVENTS =
+      String.format(
+          "select * from %s.event_store_dead_letter where id > ? order by id", OUTBOX_SCHEMA);
   private static final String SQL_GET_EVENTS_COUNT =
-      "select count(id) from %s.event_store where remaining_retries = ?";
-  private static final String SQL_WITHOUT_PLACEHOLDERS_DELETE_EVENTS =
-      "delete from %s.event_store where id in (%s)";
+      String.format(
+          "select count(*) from %s.event_store where remaining_retries = ?", OUTBOX_SCHEMA);
+  private static final String SQL_GET_DEAD_LETTER_EVENTS_COUNT =
+      String.format(
+          "select count(*) from %s.event_store_dead_letter where remaining_retries = ?",
+          OUTBOX_SCHEMA);
+  private static final IdListStatement SQL_DELETE_EVENTS =
+      new IdListStatement("delete from %s.event_store where %s");
   private static final String SQL_DECREASE_REMAINING_RETRIES =
-      "update %s.event_store set remaining_retries = remaining_retries-1, blocked_until = ?, "
-          + "error = ? where id = ?";
-  private static final String SQL_SET_REMAINING_RETRIES =
-      "update %s.event_store set remaining_retries = ? where id = ?";
-  private static final String SQL_SET_REMAINING_RETRIES_FOR_MULTIPLE_EVENTS =
-      "update %s.event_store set remaining_retries = ? where remaining_retries = ?";
-  private static final String SQL_DELETE_FAILED_EVENT =
-      "delete from %s.event_store where id = ? and remaining_retries <=0";
+      String.format(
+          "update %s.event_store set remaining_retries = remaining_retries-1, blocked_until = ?, "
+              + "error = ? where id = ?",
+          OUTBOX_SCHEMA);
+  private static final List<String> SQL_SET_REMAINING_RETRIES =
+      forEventStoreAndDeadLetter("update %s.%s set remaining_retries = ? where id = ?");
+  private static final List<String> SQL_SET_REMAINING_RETRIES_FOR_MULTIPLE_EVENTS =
+      forEventStoreAndDeadLetter(
+          "update %s.%s set remaining_retries = ? where remaining_retries = ?");
+  private static final List<String> SQL_DELETE_FAILED_EVENT =
+      forEventStoreAndDeadLetter("delete from %s.%s where id = ? and remaining_retries <=0");
   private static final String SQL_DELETE_ALL_FAILED_EVENTS =
-      "delete from %s.event_store where remaining_retries <= 0 ";
-
-  private static final String SQL_SET_LOCK_EXPIRE =
-      "update %s.event_store set lock_expire = ? where id in (%s)";
-
-  private static final String SQL_UNLOCK =
-      "update %s.event_store set lock_expire = null where id in (%s)";
+      String.format(
+          "delete from %s.event_store where remaining_retries <= 0 ", OUTBOX_SCHEMA);
+  private static final String SQL_DELETE_ALL_DEAD_LETTER_EVENTS =
+      String.format(
+          "delete from %s.event_store_dead_letter where remaining_retries <= 0 ", OUTBOX_SCHEMA);
+
+  private static final String SQL_MOVE_FAILED_EVENTS_TO_DEAD_LETTER =
+      "insert into %1$s.event_store_dead_letter (id, type, created, payload, remaining_retries, "
+          + "blocked_until, error, camunda_task_id, system_engine_identifier, lock_expire) "
+          + "select id, type, created, payload, remaining_retries, blocked_until, error, "
+          + "camunda_task_id, system_engine_identifier, null from %1$s.event_store "
+          + "where remaining_retries <= 0%2$s";
+  private static final String SQL_DELETE_MOVED_FAILED_EVENTS =
+      "delete from %1$s.event_store where remaining_retries <= 0%2$s "
+          + "and id in (select id from %1$s.event_store_dead_letter)";
+  private static final String SQL_RESTORE_DEAD_LETTER_EVENTS =
+      "insert into %1$s.event_store (id, type, created, payload, remaining_retries, "
+          + "blocked_until, error, camunda_task_id, system_engine_identifier)%3$s "
+          + "select id, type, created, payload, remaining_retries, blocked_until, error, "
+          + "camunda_task_id, system_engine_identifier from %1$s.event_store_dead_letter "
+          + "where remaining_retries > 0%2$s";
+  private static final String SQL_DELETE_RESTORED_DEAD_LETTER_EVENTS =
+      "delete from %1$s.event_store_dead_letter where remaining_retries > 0%2$s";
+  private static final Map<OutboxDialect, List<String>>
+      SQL_MOVE_EVENTS_BETWEEN_EVENT_STORE_AND_DEAD_LETTER = forMovingEvents("");
+  private static final Map<OutboxDialect, List<String>>
+      SQL_MOVE_EVENT_BETWEEN_EVENT_STORE_AND_DEAD_LETTER = forMovingEvents(" and id = ?");
+
+  private static final IdListStatement SQL_SET_LOCK_EXPIRE =
+      new IdListStatement("update %s.event_store set lock_expire = ? where %s");
+
+  private static final IdListStatement SQL_UNLOCK =
+      new IdListStatement("update %s.event_store set lock_expire = null where %s");
 
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-  private static int maxNumberOfEventsReturned = 0;
+  // streamed events are flushed once per fetched batch instead of once per event
+  private static final ObjectWriter STREAMING_EVENT_WRITER =
+      OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  private static final int STREAMING_FETCH_SIZE = 100;
 
   static {
-    if (maxNumberOfEventsReturned == 0) {
-      maxNumberOfEventsReturned = OutboxRestConfiguration.getOutboxMaxNumberOfEvents();
-    }
     LOGGER.info(
-        "Outbox Rest Api will return at max {} events per request", maxNumberOfEventsReturned);
+        "Outbox Rest Api will return at max {} events per request", MAX_NUMBER_OF_EVENTS_RETURNED);
   }
 
-  private DataSource dataSource = null;
-
-  public List<CamundaTaskEvent> getEvents(MultivaluedMap<String, String> filterParams)
-      throws InvalidArgumentException {
+  private OutboxDialect dialect = null;
+
+  /**
+   * Returns the events matching the request params. If the wait-for param is given and no events
+   * match, the events are retrieved again in the configured long poll interval until events are
+   * found or the requested wait time is over. The retries run on the bounded executor of {@link
+   * OutboxLongPolling}, so that a waiting request doesn't hold a request thread. If the maximum
+   * number of requests is already waiting, the request is answered right away. This lets clients
+   * learn about new events right after they are written, without polling the outbox in short
+   * intervals.
+   *
+   * <p>Events without remaining retries are kept in the event_store_dead_letter and are only
+   * listed with the dead-letter param set to true, or with a retries param of 0 or less.
+   *
+   * @param filterParams the request params
+   * @return the events, completed once events are found or the requested wait time is over
+   * @throws InvalidArgumentException if the params are invalid
+   */
+  public CompletionStage<List<CamundaTaskEvent>> getEvents(
+      MultivaluedMap<String, String> filterParams) throws InvalidArgumentException {
 
     verifyNoInvalidParameters(filterParams);
+    if (isDeadLetterRequested(filterParams) && filterParams.containsKey(LOCK_FOR)) {
+      throw new InvalidArgumentException("lock-for param can't be combined with dead-letter param");
+    }
     Duration lockDuration = null;
-    List<CamundaTaskEvent> camundaTaskEvents;
     if (filterParams.containsKey(LOCK_FOR)) {
       lockDuration = Duration.of(Long.parseLong(filterParams.get(LOCK_FOR).get(0)),
           ChronoUnit.SECONDS);
     }
-    if (filterParams.containsKey(TYPE) && filterParams.get(TYPE).contains(CREATE)) {
+    Instant waitUntil = Instant.now().plus(getWaitDuration(filterParams));
+
+    CompletableFuture<List<CamundaTaskEvent>> result = new CompletableFuture<>();
+    pollEvents(result, filterParams, lockDuration, waitUntil, false);
+    return result;
+  }
+
+  private List<CamundaTaskEvent> getEvents(
+      MultivaluedMap<String, String> filterParams, Duration lockDuration)
+      throws InvalidArgumentException {
+
+    List<CamundaTaskEvent> camundaTaskEvents;
+    if (isCreateEventsRequested(filterParams)) {
 
       camundaTaskEvents = getCreateEvents(lockDuration);
 
-    } else if (filterParams.containsKey(TYPE)
-        && filterParams.get(TYPE).contains(DELETE)
-        && filterParams.get(TYPE).contains(COMPLETE)) {
+    } else if (isCompleteAndDeleteEventsRequested(filterParams)) {
 
       camundaTaskEvents = getCompleteAndDeleteEvents(lockDuration);
 
+    } else if (isDeadLetterRequested(filterParams)) {
+
+      Integer remainingRetries =
+          filterParams.get(RETRIES) != null ? getRetries(filterParams.get(RETRIES)) : null;
+
+      camundaTaskEvents =
+          getDeadLetterEvents(
+              remainingRetries, getAfterId(filterParams), getPageSize(filterParams));
     } else if (filterParams.containsKey(RETRIES) && filterParams.get(RETRIES) != null) {
 
       int remainingRetries = getRetries(filterParams.get(RETRIES));
 
-      camundaTaskEvents = getEventsFilteredByRetries(remainingRetries, lockDuration);
+      camundaTaskEvents =
+          getEventsFilteredByRetries(
+              remainingRetries, lockDuration, getAfterId(filterParams), getPageSize(filterParams));
     } else {
-      camundaTaskEvents = getAllEvents(lockDuration);
+      camundaTaskEvents =
+          getAllEvents(lockDuration, getAfterId(filterParams), getPageSize(filterParams));
+    }
+    return camundaTaskEvents;
+  }
+
+  private void pollEvents(
+      CompletableFuture<List<CamundaTaskEvent>> result,
+      MultivaluedMap<String, String> filterParams,
+      Duration lockDuration,
+      Instant waitUntil,
+      boolean waiting) {
+
+    List<CamundaTaskEvent> camundaTaskEvents;
+    try {
+      camundaTaskEvents = getEvents(filterParams, lockDuration);
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+      return;
     }
+
+    long remainingMillis = Duration.between(Instant.now(), waitUntil).toMillis();
+    if (camundaTaskEvents.isEmpty()
+        && remainingMillis > 0
+        && (waiting || addWaiter(result))
+        && OutboxLongPolling.schedule(
+            () -> {
+              if (!result.isDone()) {
+                pollEvents(result, filterParams, lockDuration, waitUntil, true);
+              }
+            },
+            Math.min(remainingMillis, LONG_POLL_INTERVAL.toMillis()))) {
+      return;
+    }
+
     if (LOGGER.isDebugEnabled()) {
 
       LOGGER.debug(
@@ -161,26 +317,130 @@ public class CamundaTaskEventsService {
           camundaTaskEvents.size(),
           camundaTaskEvents.stream().map(Object::toString).collect(Collectors.joining(";\n")));
     }
-    return camundaTaskEvents;
+    result.complete(camundaTaskEvents);
+  }
+
+  private boolean addWaiter(CompletableFuture<List<CamundaTaskEvent>> result) {
+    if (!OutboxLongPolling.tryAddWaiter()) {
+      LOGGER.debug("Maximum number of waiting long polling requests reached, answering right away");
+      return false;
+    }
+    result.whenComplete((camundaTaskEvents, error) -> OutboxLongPolling.removeWaiter());
+    return true;
+  }
+
+  private boolean isCreateEventsRequested(MultivaluedMap<String, String> filterParams) {
+    return filterParams.containsKey(TYPE) && filterParams.get(TYPE).contains(CREATE);
+  }
+
+  private boolean isCompleteAndDeleteEventsRequested(MultivaluedMap<String, String> filterParams) {
+    return filterParams.containsKey(TYPE)
+        && filterParams.get(TYPE).contains(DELETE)
+        && filterParams.get(TYPE).contains(COMPLETE);
+  }
+
+  /**
+   * Checks whether the events of the event_store_dead_letter are requested.
+   *
+   * @param filterParams the request params
+   * @return true if the dead-letter param is set to true
+   */
+  private boolean isDeadLetterRequested(MultivaluedMap<String, String> filterParams) {
+    return Boolean.parseBoolean(filterParams.getFirst(DEAD_LETTER));
+  }
+
+  /**
+   * Checks whether the events are requested as a stream.
+   *
+   * @param filterParams the request params
+   * @return true if the stream param is set to true
+   */
+  public boolean isStreamRequested(MultivaluedMap<String, String> filterParams) {
+    return Boolean.parseBoolean(filterParams.getFirst(STREAM));
+  }
+
+  /**
+   * Returns the events as a stream that is written while the events are read from the database, so
+   * that the events are neither collected in memory nor wait for the whole listing to be read. The
+   * params are validated before the stream is returned, since errors occurring while streaming
+   * can't be reported with an error status anymore. Locking events is not supported, since the
+   * events would already be sent before the lock is committed. Without a limit the whole listing
+   * is streamed, the page sizes of the other listings don't apply.
+   *
+   * @param filterParams the request params
+   * @return the stream writing the events in the same format as a {@link
+   *     io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource}
+   * @throws InvalidArgumentException if the params are invalid or lock-for is requested
+   */
+  public StreamingOutput streamEvents(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    verifyNoInvalidParameters(filterParams);
+    if (filterParams.containsKey(LOCK_FOR)) {
+      throw new InvalidArgumentException("lock-for param can't be combined with stream param");
+    }
+    if (filterParams.containsKey(WAIT_FOR)) {
+      throw new InvalidArgumentException("wait-for param can't be combined with stream param");
+    }
+    int afterId = getAfterId(filterParams);
+    int limit = getLimit(filterParams);
+
+    if (isCreateEventsRequested(filterParams)) {
+      Timestamp now = Timestamp.from(Instant.now());
+      return outputStream ->
+          writeEvents(outputStream, SQL_GET_CREATE_EVENTS, 0, CREATE, now);
+
+    } else if (isCompleteAndDeleteEventsRequested(filterParams)) {
+
+      return outputStream ->
+          writeEvents(outputStream, SQL_GET_COMPLETE_AND_DELETE_EVENTS, 0, COMPLETE, DELETE);
+
+    } else if (isDeadLetterRequested(filterParams) && filterParams.get(RETRIES) == null) {
+
+      return outputStream ->
+          writeEvents(outputStream, SQL_GET_ALL_DEAD_LETTER_EVENTS, limit, afterId);
+
+    } else if (filterParams.containsKey(RETRIES) && filterParams.get(RETRIES) != null) {
+
+      int remainingRetries = getRetries(filterParams.get(RETRIES));
+      String sql =
+          remainingRetries <= 0 || isDeadLetterRequested(filterParams)
+              ? SQL_GET_DEAD_LETTER_EVENTS_FILTERED_BY_RETRIES
+              : SQL_GET_EVENTS_FILTERED_BY_RETRIES;
+      return outputStream -> writeEvents(outputStream, sql, limit, remainingRetries, afterId);
+    }
+    return outputStream -> writeEvents(outputStream, SQL_GET_ALL_EVENTS, limit, afterId);
+  }
+
+  /**
+   * Returns the cursor to request the next page of a listing with. The listings are always paged,
+   * the create and the complete and delete events are not. A page that is not full is the last
+   * one.
+   *
+   * @param filterParams the request params the events were retrieved with
+   * @param camundaTaskEvents the retrieved events
+   * @return the id of the last event, or null if there is no next page
+   * @throws InvalidArgumentException if the limit is invalid
+   */
+  public Integer getNextAfterId(
+      MultivaluedMap<String, String> filterParams, List<CamundaTaskEvent> camundaTaskEvents)
+      throws InvalidArgumentException {
+
+    if (isCreateEventsRequested(filterParams)
+        || isCompleteAndDeleteEventsRequested(filterParams)
+        || camundaTaskEvents.size() < getPageSize(filterParams)) {
+      return null;
+    }
+    return camundaTaskEvents.get(camundaTaskEvents.size() - 1).getId();
   }
 
   public void deleteEvents(String idsAsJsonArray) {
 
     List<Integer> idsAsIntegers = getIdsAsIntegers(idsAsJsonArray);
 
-    String deleteEventsSqlWithPlaceholders =
-        String.format(
-            SQL_WITHOUT_PLACEHOLDERS_DELETE_EVENTS,
-            OUTBOX_SCHEMA,
-            preparePlaceHolders(idsAsIntegers.size()));
-
     try (Connection connection = getConnection()) {
 
-      PreparedStatement preparedStatement =
-          connection.prepareStatement(deleteEventsSqlWithPlaceholders);
-
-      setPreparedStatementValues(preparedStatement, idsAsIntegers);
-      preparedStatement.execute();
+      executeForIds(connection, SQL_DELETE_EVENTS, idsAsIntegers);
 
     } catch (Exception e) {
       LOGGER.warn("Caught Exception while trying to delete events from the outbox table", e);
@@ -189,20 +449,33 @@ public class CamundaTaskEventsService {
 
   public void decreaseRemainingRetriesAndLogError(String eventIdAndErrorLog) {
 
-    String sql = String.format(SQL_DECREASE_REMAINING_RETRIES, OUTBOX_SCHEMA);
-
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+    try (Connection connection = getConnection()) {
 
       JsonNode id = OBJECT_MAPPER.readTree(eventIdAndErrorLog).get("taskEventId");
 
       JsonNode errorLog = OBJECT_MAPPER.readTree(eventIdAndErrorLog).get("errorLog");
 
-      Instant blockedUntil = getBlockedUntil();
-      preparedStatement.setTimestamp(1, Timestamp.from(blockedUntil));
-      preparedStatement.setString(2, errorLog.toString());
-      preparedStatement.setInt(3, id.asInt());
-      preparedStatement.execute();
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(SQL_DECREASE_REMAINING_RETRIES)) {
+
+        Instant blockedUntil = getBlockedUntil();
+        preparedStatement.setTimestamp(1, Timestamp.from(blockedUntil));
+        preparedStatement.setString(2, errorLog.toString());
+        preparedStatement.setInt(3, id.asInt());
+        preparedStatement.execute();
+
+        moveEventsBetweenEventStoreAndDeadLetter(connection, id.asInt());
+        connection.commit();
+
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
 
     } catch (Exception e) {
       LOGGER.warn(
@@ -213,71 +486,66 @@ public class CamundaTaskEventsService {
 
   public List<CamundaTaskEvent> getEventsFilteredByRetries(Integer remainingRetries,
       Duration lockDuration) {
+    return getEventsFilteredByRetries(remainingRetries, lockDuration, 0, 0);
+  }
 
-    List<CamundaTaskEvent> camundaTaskEventsFilteredByRetries = new ArrayList<>();
-    String sqlStatement = lockDuration == null
-        ? SQL_GET_EVENTS_FILTERED_BY_RETRIES : SQL_GET_AVAILABLE_EVENTS_FILTERED_BY_RETRIES;
-    String getEventsFilteredByRetriesSql =
-        String.format(sqlStatement, OUTBOX_SCHEMA);
-    List<Integer> ids = null;
+  /**
+   * Returns the events with the given remaining retries, ordered by id.
+   *
+   * @param remainingRetries the remaining retries of the events
+   * @param lockDuration the duration to lock the events for, or null to not lock them
+   * @param afterId only events with a greater id are returned
+   * @param limit the maximum number of events to return, 0 for no limit
+   * @return the events
+   */
+  public List<CamundaTaskEvent> getEventsFilteredByRetries(
+      Integer remainingRetries, Duration lockDuration, int afterId, int limit) {
+
+    if (remainingRetries <= 0) {
+      return getDeadLetterEvents(remainingRetries, afterId, limit);
+    }
 
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement =
-            connection.prepareStatement(getEventsFilteredByRetriesSql)) {
-      try {
-        preparedStatement.setInt(1, remainingRetries);
-        if (lockDuration != null) {
-          preparedStatement.setTimestamp(1, Timestamp.from(Instant.now()));
-        }
-        ResultSet camundaTaskEventFilteredByRetriesResultSet = preparedStatement.executeQuery();
-        camundaTaskEventsFilteredByRetries =
-            getCamundaTaskEvents(camundaTaskEventFilteredByRetriesResultSet);
-        ids = camundaTaskEventsFilteredByRetries.stream().map(CamundaTaskEvent::getId)
-            .collect(Collectors.toList());
-        lockEvents(ids, lockDuration, connection);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Events locked: {}",
-              ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-        }
-      } catch (Exception e) {
-        LOGGER.warn("Caught Exception while trying to retrieve failed events from the outbox",
-            e);
-        if (ids != null) {
-          try {
-            unlockEvents(ids, connection);
-            if (LOGGER.isDebugEnabled()) {
-              LOGGER.debug(
-                  "Events unlocked: {}",
-                  ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-            }
-          } catch (Exception ex) {
-            LOGGER.error("Failed to unlock events", ex);
-          }
-        }
+    try (Connection connection = getConnection()) {
+
+      if (lockDuration == null) {
+        return selectEvents(
+            connection, SQL_GET_EVENTS_FILTERED_BY_RETRIES, limit, remainingRetries, afterId);
       }
+      return logLockedEvents(
+          selectAndLockEvents(
+              connection,
+              SQL_GET_AVAILABLE_EVENTS_FILTERED_BY_RETRIES,
+              limit,
+              lockDuration,
+              remainingRetries,
+              afterId,
+              Timestamp.from(Instant.now())));
+
     } catch (Exception e) {
       LOGGER.warn("Caught Exception while trying to retrieve failed events from the outbox", e);
     }
-    return camundaTaskEventsFilteredByRetries;
+    return new ArrayList<>();
   }
 
   public String getEventsCount(int remainingRetries) {
 
     String eventsCount = "{\"eventsCount\":0}";
 
-    String getEventsCountSql = String.format(SQL_GET_EVENTS_COUNT, OUTBOX_SCHEMA);
+    String getEventsCountSql =
+        remainingRetries <= 0 ? SQL_GET_DEAD_LETTER_EVENTS_COUNT : SQL_GET_EVENTS_COUNT;
 
     try (Connection connection = getConnection();
         PreparedStatement preparedStatement = connection.prepareStatement(getEventsCountSql)) {
 
       preparedStatement.setInt(1, remainingRetries);
 
-      ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
+      try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery()) {
 
-      if (camundaTaskEventResultSet.next()) {
+        if (camundaTaskEventResultSet.next()) {
 
-        eventsCount = eventsCount.replace("0", String.valueOf(camundaTaskEventResultSet.getInt(1)));
+          eventsCount =
+              eventsCount.replace("0", String.valueOf(camundaTaskEventResultSet.getInt(1)));
+        }
       }
 
     } catch (Exception e) {
@@ -293,14 +561,29 @@ public class CamundaTaskEventsService {
 
     event.setRemainingRetries(retriesToSet);
 
-    String setRemainingRetriesSql = String.format(SQL_SET_REMAINING_RETRIES, OUTBOX_SCHEMA);
+    try (Connection connection = getConnection()) {
 
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(setRemainingRetriesSql)) {
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
 
-      preparedStatement.setInt(1, retriesToSet);
-      preparedStatement.setInt(2, id);
-      preparedStatement.execute();
+      try {
+        for (String sql : SQL_SET_REMAINING_RETRIES) {
+          try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, retriesToSet);
+            preparedStatement.setInt(2, id);
+            preparedStatement.execute();
+          }
+        }
+
+        moveEventsBetweenEventStoreAndDeadLetter(connection, id);
+        connection.commit();
+
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
 
     } catch (Exception e) {
       LOGGER.warn(
@@ -319,16 +602,29 @@ public class CamundaTaskEventsService {
     camundaTaskEventsFilteredByRetries.forEach(
         camundaTaskEvent -> camundaTaskEvent.setRemainingRetries(retriesToSet));
 
-    String setRemainingRetriesForAllFilteredByRetriesSql =
-        String.format(SQL_SET_REMAINING_RETRIES_FOR_MULTIPLE_EVENTS, OUTBOX_SCHEMA);
+    try (Connection connection = getConnection()) {
 
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement =
-            connection.prepareStatement(setRemainingRetriesForAllFilteredByRetriesSql)) {
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
 
-      preparedStatement.setInt(1, retriesToSet);
-      preparedStatement.setInt(2, retries);
-      preparedStatement.execute();
+      try {
+        for (String sql : SQL_SET_REMAINING_RETRIES_FOR_MULTIPLE_EVENTS) {
+          try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, retriesToSet);
+            preparedStatement.setInt(2, retries);
+            preparedStatement.execute();
+          }
+        }
+
+        moveEventsBetweenEventStoreAndDeadLetter(connection, null);
+        connection.commit();
+
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
 
     } catch (Exception e) {
       LOGGER.warn(
@@ -342,13 +638,14 @@ public class CamundaTaskEventsService {
 
   public void deleteFailedEvent(int id) {
 
-    String deleteFailedEventSql = String.format(SQL_DELETE_FAILED_EVENT, OUTBOX_SCHEMA);
-
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(deleteFailedEventSql)) {
+    try (Connection connection = getConnection()) {
 
-      preparedStatement.setInt(1, id);
-      preparedStatement.execute();
+      for (String sql : SQL_DELETE_FAILED_EVENT) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+          preparedStatement.setInt(1, id);
+          preparedStatement.execute();
+        }
+      }
 
     } catch (Exception e) {
       LOGGER.warn("Caught Exception while trying to delete failed camunda task event", e);
@@ -357,45 +654,55 @@ public class CamundaTaskEventsService {
 
   public void deleteAllFailedEvents() {
 
-    String flagEventsSqlWithPlaceholders =
-        String.format(SQL_DELETE_ALL_FAILED_EVENTS, OUTBOX_SCHEMA);
-
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement =
-            connection.prepareStatement(flagEventsSqlWithPlaceholders)) {
+    try (Connection connection = getConnection()) {
 
-      preparedStatement.execute();
+      for (String sql :
+          Arrays.asList(SQL_DELETE_ALL_DEAD_LETTER_EVENTS, SQL_DELETE_ALL_FAILED_EVENTS)) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+          preparedStatement.execute();
+        }
+      }
 
     } catch (Exception e) {
       LOGGER.warn("Caught Exception while trying to delete all failed camunda task events", e);
     }
   }
 
-  public CamundaTaskEvent getEvent(int id) throws CamundaTaskEventNotFoundException {
+  public String getDataSourcePoolMetrics() {
+
+    try {
+      return OBJECT_MAPPER.writeValueAsString(OutboxDataSource.getPoolMetrics());
+    } catch (IOException e) {
+      LOGGER.warn("Caught Exception while trying to write the datasource pool metrics", e);
+      return "{}";
+    }
+  }
 
-    String sql = String.format(SQL_GET_EVENT, OUTBOX_SCHEMA);
+  public CamundaTaskEvent getEvent(int id) throws CamundaTaskEventNotFoundException {
 
     CamundaTaskEvent camundaTaskEvent;
 
     try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_GET_EVENT)) {
 
       preparedStatement.setInt(1, id);
+      preparedStatement.setInt(2, id);
 
-      ResultSet completeAndDeleteEventsResultSet = preparedStatement.executeQuery();
-      if (completeAndDeleteEventsResultSet.next()) {
-        camundaTaskEvent = new CamundaTaskEvent();
+      try (ResultSet eventResultSet = preparedStatement.executeQuery()) {
+        if (eventResultSet.next()) {
+          camundaTaskEvent = new CamundaTaskEvent();
 
-        camundaTaskEvent.setId(completeAndDeleteEventsResultSet.getInt(1));
-        camundaTaskEvent.setType(completeAndDeleteEventsResultSet.getString(2));
-        camundaTaskEvent.setCreated(formatDate(completeAndDeleteEventsResultSet.getTimestamp(3)));
-        camundaTaskEvent.setPayload(completeAndDeleteEventsResultSet.getString(4));
-        camundaTaskEvent.setRemainingRetries(completeAndDeleteEventsResultSet.getInt(5));
-        camundaTaskEvent.setBlockedUntil(completeAndDeleteEventsResultSet.getString(6));
-        camundaTaskEvent.setError(completeAndDeleteEventsResultSet.getString(7));
-        camundaTaskEvent.setCamundaTaskId(completeAndDeleteEventsResultSet.getString(8));
+          camundaTaskEvent.setId(eventResultSet.getInt(1));
+          camundaTaskEvent.setType(eventResultSet.getString(2));
+          camundaTaskEvent.setCreated(formatDate(eventResultSet.getTimestamp(3)));
+          camundaTaskEvent.setPayload(eventResultSet.getString(4));
+          camundaTaskEvent.setRemainingRetries(eventResultSet.getInt(5));
+          camundaTaskEvent.setBlockedUntil(eventResultSet.getString(6));
+          camundaTaskEvent.setError(eventResultSet.getString(7));
+          camundaTaskEvent.setCamundaTaskId(eventResultSet.getString(8));
 
-        return camundaTaskEvent;
+          return camundaTaskEvent;
+        }
       }
 
     } catch (SQLException e) {
@@ -406,48 +713,37 @@ public class CamundaTaskEventsService {
   }
 
   public List<CamundaTaskEvent> getAllEvents(Duration lockDuration) {
+    return getAllEvents(lockDuration, 0, 0);
+  }
 
-    List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
-    String sqlStatement = lockDuration == null
-        ? SQL_GET_ALL_EVENTS : SQL_GET_ALL_AVAILABLE_EVENTS;
-    String sql = String.format(sqlStatement, OUTBOX_SCHEMA);
-    List<Integer> ids = null;
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-      try {
-        if (lockDuration != null) {
-          preparedStatement.setTimestamp(1, Timestamp.from(Instant.now()));
-        }
-        ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
-        camundaTaskEvents = getCamundaTaskEvents(camundaTaskEventResultSet);
-        ids = camundaTaskEvents.stream().map(CamundaTaskEvent::getId)
-            .collect(Collectors.toList());
-        lockEvents(ids, lockDuration, connection);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Events locked: {}",
-              ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-        }
-      } catch (Exception e) {
-        LOGGER.warn("Caught Exception while trying to retrieve all events from the outbox",
-            e);
-        if (ids != null) {
-          try {
-            unlockEvents(ids, connection);
-            if (LOGGER.isDebugEnabled()) {
-              LOGGER.debug(
-                  "Events unlocked: {}",
-                  ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-            }
-          } catch (Exception ex) {
-            LOGGER.error("Failed to unlock events", ex);
-          }
-        }
+  /**
+   * Returns all events of the event store, ordered by id.
+   *
+   * @param lockDuration the duration to lock the events for, or null to not lock them
+   * @param afterId only events with a greater id are returned
+   * @param limit the maximum number of events to return, 0 for no limit
+   * @return the events
+   */
+  public List<CamundaTaskEvent> getAllEvents(Duration lockDuration, int afterId, int limit) {
+
+    try (Connection connection = getConnection()) {
+
+      if (lockDuration == null) {
+        return selectEvents(connection, SQL_GET_ALL_EVENTS, limit, afterId);
       }
+      return logLockedEvents(
+          selectAndLockEvents(
+              connection,
+              SQL_GET_ALL_AVAILABLE_EVENTS,
+              limit,
+              lockDuration,
+              afterId,
+              Timestamp.from(Instant.now())));
+
     } catch (Exception e) {
       LOGGER.warn("Caught Exception while trying to retrieve all events from the outbox", e);
     }
-    return camundaTaskEvents;
+    return new ArrayList<>();
   }
 
   public void unlockEventForId(Integer eventId) {
@@ -468,6 +764,72 @@ public class CamundaTaskEventsService {
     }
   }
 
+  private Duration getWaitDuration(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    if (!filterParams.containsKey(WAIT_FOR)) {
+      return Duration.ZERO;
+    }
+    try {
+      long waitForSeconds = Long.parseLong(filterParams.getFirst(WAIT_FOR));
+      if (waitForSeconds >= 0) {
+        Duration waitDuration = Duration.ofSeconds(waitForSeconds);
+        return waitDuration.compareTo(LONG_POLL_MAXIMUM_WAIT) > 0
+            ? LONG_POLL_MAXIMUM_WAIT
+            : waitDuration;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new InvalidArgumentException("wait-for param must be a non-negative Integer!");
+  }
+
+  private int getAfterId(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    if (!filterParams.containsKey(AFTER_ID)) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(filterParams.getFirst(AFTER_ID));
+
+    } catch (NumberFormatException e) {
+      throw new InvalidArgumentException("after-id param must be of type Integer!");
+    }
+  }
+
+  /**
+   * Returns the number of events a page of a listing holds. It is the requested limit or the
+   * configured default page size, and never more than the configured maximum page size.
+   *
+   * @param filterParams the request params
+   * @return the page size
+   * @throws InvalidArgumentException if the limit is invalid
+   */
+  private int getPageSize(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    int limit = getLimit(filterParams);
+    return Math.min(limit > 0 ? limit : LISTING_DEFAULT_PAGE_SIZE, LISTING_MAXIMUM_PAGE_SIZE);
+  }
+
+  private int getLimit(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    if (!filterParams.containsKey(LIMIT)) {
+      return 0;
+    }
+    try {
+      int limit = Integer.parseInt(filterParams.getFirst(LIMIT));
+      if (limit > 0) {
+        return limit;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new InvalidArgumentException("limit param must be a positive Integer!");
+  }
+
   private void verifyNoInvalidParameters(MultivaluedMap<String, String> filterParams)
       throws InvalidArgumentException {
 
@@ -488,66 +850,370 @@ public class CamundaTaskEventsService {
     return Instant.now().plus(blockedDuration);
   }
 
-  private static DataSource createDatasource(
-      String driver, String jdbcUrl, String username, String password) {
-    return new PooledDataSource(driver, jdbcUrl, username, password);
+  private static List<String> forEventStoreAndDeadLetter(String sqlTemplate) {
+    return Arrays.asList(
+        String.format(sqlTemplate, OUTBOX_SCHEMA, EVENT_STORE),
+        String.format(sqlTemplate, OUTBOX_SCHEMA, EVENT_STORE_DEAD_LETTER));
+  }
+
+  private static Map<OutboxDialect, List<String>> forMovingEvents(String condition) {
+    Map<OutboxDialect, List<String>> statements = new EnumMap<>(OutboxDialect.class);
+    for (OutboxDialect dialect : OutboxDialect.values()) {
+      statements.put(
+          dialect,
+          Stream.of(
+                  SQL_MOVE_FAILED_EVENTS_TO_DEAD_LETTER,
+                  SQL_DELETE_MOVED_FAILED_EVENTS,
+                  SQL_RESTORE_DEAD_LETTER_EVENTS,
+                  SQL_DELETE_RESTORED_DEAD_LETTER_EVENTS)
+              .map(
+                  sqlTemplate ->
+                      String.format(
+                          sqlTemplate,
+                          OUTBOX_SCHEMA,
+                          condition,
+                          dialect.getOverridingIdentityClause()))
+              .collect(Collectors.toList()));
+    }
+    return statements;
   }
 
   private List<CamundaTaskEvent> getCreateEvents(Duration lockDuration) {
 
-    List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
-    String sqlStatement = lockDuration == null
-        ? SQL_GET_CREATE_EVENTS : SQL_GET_AVAILABLE_CREATE_EVENTS;
-    List<Integer> ids = null;
+    if (lockDuration != null) {
+      try {
+        Timestamp now = Timestamp.from(Instant.now());
+        return claimEvents(SQL_CLAIM_CREATE_EVENTS, lockDuration, CREATE, now, now);
+      } catch (SQLException | RuntimeException e) {
+        LOGGER.warn("Caught Exception while trying to claim create events from the outbox", e);
+        return new ArrayList<>();
+      }
+    }
+
     try (Connection connection = getConnection()) {
+      return selectEvents(
+          connection, SQL_GET_CREATE_EVENTS, 0, CREATE, Timestamp.from(Instant.now()));
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.warn("Caught Exception while trying to retrieve create events from the outbox", e);
+    }
+    return new ArrayList<>();
+  }
 
-      String sql = String.format(sqlStatement, OUTBOX_SCHEMA, maxNumberOfEventsReturned);
-      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-        preparedStatement.setString(1, CREATE);
-        preparedStatement.setTimestamp(2, Timestamp.from(Instant.now()));
-        if (lockDuration != null) {
-          preparedStatement.setTimestamp(3, Timestamp.from(Instant.now()));
-        }
-        ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
+  /**
+   * Claims up to the maximum number of returned events matching the condition by locking them for
+   * the given duration. On the databases supporting skip locked, events that are being claimed by
+   * a concurrent request are skipped, so that concurrent adapter instances claim disjoint sets of
+   * events without waiting for each other. On other databases a concurrent request waits until the
+   * claim is committed.
+   *
+   * @param claimStatements the statements to claim the events with per dialect
+   * @param lockDuration the duration to lock the claimed events for
+   * @param parameters the parameters of the condition
+   * @return the claimed events
+   * @throws SQLException if the events could not be claimed
+   */
+  private List<CamundaTaskEvent> claimEvents(
+      Map<OutboxDialect, ClaimStatements> claimStatements,
+      Duration lockDuration,
+      Object... parameters)
+      throws SQLException {
+
+    try (Connection connection = getConnection()) {
+
+      ClaimStatements statements = claimStatements.get(getDialect(connection));
+
+      return logLockedEvents(
+          statements.claimAndReturn != null
+              ? claimAndReturnEvents(
+                  connection, statements.claimAndReturn, lockDuration, parameters)
+              : selectAndLockEvents(
+                  connection,
+                  statements.claim,
+                  MAX_NUMBER_OF_EVENTS_RETURNED,
+                  lockDuration,
+                  parameters));
+    }
+  }
+
+  private List<CamundaTaskEvent> claimAndReturnEvents(
+      Connection connection, String sql, Duration lockDuration, Object... parameters)
+      throws SQLException {
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      preparedStatement.setTimestamp(1, Timestamp.from(Instant.now().plus(lockDuration)));
+      for (int i = 0; i < parameters.length; i++) {
+        preparedStatement.setObject(i + 2, parameters[i]);
+      }
+
+      try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery()) {
+        return getCamundaTaskEvents(camundaTaskEventResultSet);
+      }
+    }
+  }
+
+  /**
+   * Selects the events with a locking select statement and sets their lock_expire in one
+   * transaction, so that the row locks are held until the events are locked for the given
+   * duration.
+   *
+   * @param connection the connection to run the transaction on
+   * @param sql the locking select statement
+   * @param maxRows the maximum number of events to select or 0 for no limit
+   * @param lockDuration the duration to lock the selected events for
+   * @param parameters the parameters of the select statement
+   * @return the locked events
+   * @throws SQLException if the events could not be selected or locked
+   */
+  private List<CamundaTaskEvent> selectAndLockEvents(
+      Connection connection, String sql, int maxRows, Duration lockDuration, Object... parameters)
+      throws SQLException {
+
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      setParameters(preparedStatement, parameters);
+      preparedStatement.setMaxRows(maxRows);
+
+      List<CamundaTaskEvent> camundaTaskEvents;
+      try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery()) {
         camundaTaskEvents = getCamundaTaskEvents(camundaTaskEventResultSet);
-        ids = camundaTaskEvents.stream().map(CamundaTaskEvent::getId)
-            .collect(Collectors.toList());
-        lockEvents(ids, lockDuration, connection);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Events locked: {}",
-              ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-        }
-      } catch (Exception e) {
-        LOGGER.warn("Caught Exception while trying to retrieve all events from the outbox",
-              e);
-        if (ids != null) {
-          try {
-            unlockEvents(ids, connection);
-            if (LOGGER.isDebugEnabled()) {
-              LOGGER.debug(
-                  "Events unlocked: {}",
-                  ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
+      }
+
+      setLockExpire(
+          camundaTaskEvents.stream().map(CamundaTaskEvent::getId).collect(Collectors.toList()),
+          lockDuration,
+          connection);
+      connection.commit();
+      return camundaTaskEvents;
+
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  private List<CamundaTaskEvent> selectEvents(
+      Connection connection, String sql, int maxRows, Object... parameters) throws SQLException {
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      setParameters(preparedStatement, parameters);
+      preparedStatement.setMaxRows(maxRows);
+
+      try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery()) {
+        return getCamundaTaskEvents(camundaTaskEventResultSet);
+      }
+    }
+  }
+
+  private void writeEvents(
+      OutputStream outputStream, String sql, int maxRows, Object... parameters)
+      throws IOException {
+
+    try (Connection connection = getConnection()) {
+
+      boolean autoCommit = connection.getAutoCommit();
+      // PostgreSQL only fetches the result set in batches inside of a transaction
+      connection.setAutoCommit(false);
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+        setParameters(preparedStatement, parameters);
+        preparedStatement.setMaxRows(maxRows);
+        preparedStatement.setFetchSize(
+            maxRows > 0 ? Math.min(maxRows, STREAMING_FETCH_SIZE) : STREAMING_FETCH_SIZE);
+
+        try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
+            JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream)) {
+
+          // the output stream belongs to the container
+          generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+          generator.writeStartObject();
+          generator.writeArrayFieldStart("camundaTaskEvents");
+          int numberOfEvents = 0;
+          Integer lastId = null;
+          while (camundaTaskEventResultSet.next()) {
+            CamundaTaskEvent camundaTaskEvent = getCamundaTaskEvent(camundaTaskEventResultSet);
+            STREAMING_EVENT_WRITER.writeValue(generator, camundaTaskEvent);
+            lastId = camundaTaskEvent.getId();
+            if (++numberOfEvents % STREAMING_FETCH_SIZE == 0) {
+              generator.flush();
             }
-          } catch (Exception ex) {
-            LOGGER.error("Failed to unlock events", ex);
           }
+          generator.writeEndArray();
+          if (maxRows > 0 && numberOfEvents == maxRows) {
+            generator.writeNumberField("nextAfterId", lastId);
+          } else {
+            generator.writeNullField("nextAfterId");
+          }
+          generator.writeEndObject();
         }
+        connection.commit();
+
+      } finally {
+        connection.setAutoCommit(autoCommit);
       }
-    } catch (SQLException | NullPointerException e) {
-      LOGGER.warn("Caught Exception while trying to retrieve create events from the outbox", e);
+
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.warn("Caught Exception while trying to stream events from the outbox", e);
+      throw new WebApplicationException(e);
+    }
+  }
+
+  private List<CamundaTaskEvent> logLockedEvents(List<CamundaTaskEvent> camundaTaskEvents) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Events locked: {}",
+          camundaTaskEvents.stream()
+              .map(camundaTaskEvent -> String.valueOf(camundaTaskEvent.getId()))
+              .collect(Collectors.joining(";\n")));
     }
     return camundaTaskEvents;
   }
 
-  private String preparePlaceHolders(int length) {
-    return String.join(",", Collections.nCopies(length, "?"));
+  /**
+   * Returns the events of the event_store_dead_letter, ordered by id. They keep the id they had in
+   * the event_store, also when they are restored later.
+   *
+   * @param remainingRetries the remaining retries of the events, or null for all events
+   * @param afterId only events with a greater id are returned
+   * @param limit the maximum number of events to return, 0 for no limit
+   * @return the events
+   */
+  private List<CamundaTaskEvent> getDeadLetterEvents(
+      Integer remainingRetries, int afterId, int limit) {
+
+    try (Connection connection = getConnection()) {
+      if (remainingRetries == null) {
+        return selectEvents(connection, SQL_GET_ALL_DEAD_LETTER_EVENTS, limit, afterId);
+      }
+      return selectEvents(
+          connection,
+          SQL_GET_DEAD_LETTER_EVENTS_FILTERED_BY_RETRIES,
+          limit,
+          remainingRetries,
+          afterId);
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to retrieve failed events from the outbox", e);
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * Moves the events without remaining retries from the event_store into the
+   * event_store_dead_letter and the events with remaining retries back into the event_store. The
+   * events keep their ids in both directions.
+   *
+   * @param connection the connection of the running transaction
+   * @param id the id of the event to move or null to move all events
+   * @throws SQLException if the events could not be moved
+   */
+  private void moveEventsBetweenEventStoreAndDeadLetter(Connection connection, Integer id)
+      throws SQLException {
+
+    for (String sql :
+        (id == null
+                ? SQL_MOVE_EVENTS_BETWEEN_EVENT_STORE_AND_DEAD_LETTER
+                : SQL_MOVE_EVENT_BETWEEN_EVENT_STORE_AND_DEAD_LETTER)
+            .get(getDialect(connection))) {
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        if (id != null) {
+          preparedStatement.setInt(1, id);
+        }
+        preparedStatement.execute();
+      }
+    }
+  }
+
+  private OutboxDialect getDialect(Connection connection) throws SQLException {
+
+    if (dialect == null) {
+      dialect = OutboxDialect.of(connection.getMetaData().getDatabaseProductName());
+      LOGGER.debug("Outbox uses the SQL dialect {}", dialect);
+    }
+    return dialect;
+  }
+
+  /**
+   * Executes the statement for all ids. On PostgreSQL the ids are passed as one array parameter,
+   * on the other databases in chunks of the precomputed IN list lengths. Outside of a running
+   * transaction the chunks are executed in a transaction of their own, so that the statement is
+   * applied to all ids or to none of them on every database.
+   *
+   * @param connection the connection to execute the statement with
+   * @param statement the statement to execute
+   * @param ids the ids of the events
+   * @param parameters the parameters preceding the ids
+   * @throws SQLException if the statement could not be executed
+   */
+  private void executeForIds(
+      Connection connection, IdListStatement statement, List<Integer> ids, Object... parameters)
+      throws SQLException {
+
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    if (getDialect(connection) == OutboxDialect.POSTGRES) {
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(statement.anyArray)) {
+        setParameters(preparedStatement, parameters);
+        preparedStatement.setArray(
+            parameters.length + 1, connection.createArrayOf("integer", ids.toArray()));
+        preparedStatement.execute();
+      }
+      return;
+    }
+
+    if (!connection.getAutoCommit() || ids.size() <= IdListStatement.MAX_IN_LIST_LENGTH) {
+      executeInChunks(connection, statement, ids, parameters);
+      return;
+    }
+
+    connection.setAutoCommit(false);
+    try {
+      executeInChunks(connection, statement, ids, parameters);
+      connection.commit();
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(true);
+    }
   }
 
-  private void setPreparedStatementValues(PreparedStatement preparedStatement, List<Integer> ids)
+  private void executeInChunks(
+      Connection connection, IdListStatement statement, List<Integer> ids, Object... parameters)
       throws SQLException {
-    for (int i = 0; i < ids.size(); i++) {
-      preparedStatement.setObject(i + 1, ids.get(i));
+
+    for (int from = 0; from < ids.size(); from += IdListStatement.MAX_IN_LIST_LENGTH) {
+      List<Integer> chunk =
+          ids.subList(from, Math.min(from + IdListStatement.MAX_IN_LIST_LENGTH, ids.size()));
+      int inListLength = IdListStatement.getInListLength(chunk.size());
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(statement.getInList(inListLength))) {
+        setParameters(preparedStatement, parameters);
+        // the IN list is filled up by repeating the last id
+        for (int i = 0; i < inListLength; i++) {
+          preparedStatement.setInt(
+              parameters.length + i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+        }
+        preparedStatement.execute();
+      }
+    }
+  }
+
+  private void setParameters(PreparedStatement preparedStatement, Object... parameters)
+      throws SQLException {
+    for (int i = 0; i < parameters.length; i++) {
+      preparedStatement.setObject(i + 1, parameters[i]);
     }
   }
 
@@ -557,24 +1223,29 @@ public class CamundaTaskEventsService {
     List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
 
     while (createEventsResultSet.next()) {
+      camundaTaskEvents.add(getCamundaTaskEvent(createEventsResultSet));
+    }
 
-      CamundaTaskEvent camundaTaskEvent = new CamundaTaskEvent();
+    return camundaTaskEvents;
+  }
 
-      camundaTaskEvent.setId(createEventsResultSet.getInt(1));
-      camundaTaskEvent.setType(createEventsResultSet.getString(2));
-      camundaTaskEvent.setCreated(formatDate(createEventsResultSet.getTimestamp(3)));
-      camundaTaskEvent.setPayload(createEventsResultSet.getString(4));
-      camundaTaskEvent.setRemainingRetries(createEventsResultSet.getInt(5));
-      camundaTaskEvent.setBlockedUntil(createEventsResultSet.getString(6));
-      camundaTaskEvent.setError(createEventsResultSet.getString(7));
-      camundaTaskEvent.setCamundaTaskId(createEventsResultSet.getString(8));
-      camundaTaskEvent.setSystemEngineIdentifier(createEventsResultSet.getString(9));
-      camundaTaskEvent.setLockExpiresAt(formatDate(createEventsResultSet.getTimestamp(10)));
+  private CamundaTaskEvent getCamundaTaskEvent(ResultSet camundaTaskEventResultSet)
+      throws SQLException {
 
-      camundaTaskEvents.add(camundaTaskEvent);
-    }
+    CamundaTaskEvent camundaTaskEvent = new CamundaTaskEvent();
 
-    return camundaTaskEvents;
+    camundaTaskEvent.setId(camundaTaskEventResultSet.getInt(1));
+    camundaTaskEvent.setType(camundaTaskEventResultSet.getString(2));
+    camundaTaskEvent.setCreated(formatDate(camundaTaskEventResultSet.getTimestamp(3)));
+    camundaTaskEvent.setPayload(camundaTaskEventResultSet.getString(4));
+    camundaTaskEvent.setRemainingRetries(camundaTaskEventResultSet.getInt(5));
+    camundaTaskEvent.setBlockedUntil(camundaTaskEventResultSet.getString(6));
+    camundaTaskEvent.setError(camundaTaskEventResultSet.getString(7));
+    camundaTaskEvent.setCamundaTaskId(camundaTaskEventResultSet.getString(8));
+    camundaTaskEvent.setSystemEngineIdentifier(camundaTaskEventResultSet.getString(9));
+    camundaTaskEvent.setLockExpiresAt(formatDate(camundaTaskEventResultSet.getTimestamp(10)));
+
+    return camundaTaskEvent;
   }
 
   private List<Integer> getIdsAsIntegers(String idsAsJsonArray) {
@@ -600,60 +1271,35 @@ public class CamundaTaskEventsService {
 
   private List<CamundaTaskEvent> getCompleteAndDeleteEvents(Duration lockDuration) {
 
-    List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
-    String sqlStatement = lockDuration == null
-        ? SQL_GET_COMPLETE_AND_DELETE_EVENTS : SQL_GET_AVAILABLE_COMPLETE_AND_DELETE_EVENTS;
-    String sql =
-        String.format(sqlStatement, OUTBOX_SCHEMA, maxNumberOfEventsReturned);
-    List<Integer> ids = null;
-    try (Connection connection = getConnection();
-        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+    if (lockDuration != null) {
       try {
-        preparedStatement.setString(1, COMPLETE);
-        preparedStatement.setString(2, DELETE);
-        if (lockDuration != null) {
-          preparedStatement.setTimestamp(3, Timestamp.from(Instant.now()));
-        }
-        ResultSet completeAndDeleteEventsResultSet = preparedStatement.executeQuery();
-        camundaTaskEvents = getCamundaTaskEvents(completeAndDeleteEventsResultSet);
-        ids = camundaTaskEvents.stream().map(CamundaTaskEvent::getId)
-            .collect(Collectors.toList());
-
-        lockEvents(ids, lockDuration, connection);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "Events locked: {}",
-              ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-        }
-      } catch (Exception e) {
-        LOGGER.warn("Caught Exception while trying to retrieve all events from the outbox",
-            e);
-        if (ids != null) {
-          try {
-            unlockEvents(ids, connection);
-            if (LOGGER.isDebugEnabled()) {
-              LOGGER.debug(
-                  "Events unlocked: {}",
-                  ids.stream().map(Object::toString).collect(Collectors.joining(";\n")));
-            }
-          } catch (Exception ex) {
-            LOGGER.error("Failed to unlock events", ex);
-          }
-        }
+        return claimEvents(
+            SQL_CLAIM_COMPLETE_AND_DELETE_EVENTS,
+            lockDuration,
+            COMPLETE,
+            DELETE,
+            Timestamp.from(Instant.now()));
+      } catch (SQLException | RuntimeException e) {
+        LOGGER.warn(
+            "Caught exception while trying to claim complete/delete events from the outbox", e);
+        return new ArrayList<>();
       }
-    } catch (SQLException | NullPointerException e) {
+    }
+
+    try (Connection connection = getConnection()) {
+      return selectEvents(connection, SQL_GET_COMPLETE_AND_DELETE_EVENTS, 0, COMPLETE, DELETE);
+    } catch (SQLException | RuntimeException e) {
       LOGGER.warn(
           "Caught exception while trying to retrieve complete/delete events from the outbox", e);
     }
-
-    return camundaTaskEvents;
+    return new ArrayList<>();
   }
 
   private Connection getConnection() {
 
     Connection connection = null;
     try {
-      connection = getDataSource().getConnection();
+      connection = OutboxDataSource.get().getConnection();
     } catch (SQLException | NullPointerException e) {
       LOGGER.warn(
           "Caught {} while trying to retrieve a connection from the provided datasource",
@@ -668,79 +1314,92 @@ public class CamundaTaskEventsService {
     return connection;
   }
 
-  private DataSource getDataSource() {
-
-    synchronized (CamundaTaskEventsService.class) {
-      if (dataSource == null) {
-        return getDataSourceFromPropertiesFile();
-      }
+  public void lockEvents(List<Integer> ids, Duration lockDuration, Connection connection) {
+    try {
+      setLockExpire(ids, lockDuration, connection);
+    } catch (SQLException e) {
+      LOGGER.error("Caught exception while trying to lock events", e);
     }
-    return dataSource;
   }
 
-  public void lockEvents(List<Integer> ids, Duration lockDuration, Connection connection) {
+  private void setLockExpire(List<Integer> ids, Duration lockDuration, Connection connection)
+      throws SQLException {
     if (lockDuration == null || ids.isEmpty()) {
       return;
     }
-    String commaSeparatedIds = ids.stream()
-        .map(Object::toString)
-        .collect(Collectors.joining(", "));
-    String sql = String.format(SQL_SET_LOCK_EXPIRE, OUTBOX_SCHEMA, commaSeparatedIds);
-    try {
-      PreparedStatement preparedStatement = connection.prepareStatement(sql);
-      preparedStatement.setTimestamp(1,
-          Timestamp.from(Instant.now().plus(lockDuration)));
-
-      preparedStatement.execute();
-
-    } catch (SQLException e) {
-      LOGGER.error("Caught exception while trying to lock events", e);
-    }
+    executeForIds(
+        connection, SQL_SET_LOCK_EXPIRE, ids, Timestamp.from(Instant.now().plus(lockDuration)));
   }
 
   private void unlockEvents(List<Integer> ids, Connection connection) throws SQLException {
-    String commaSeparatedIds = ids.stream()
-        .map(Object::toString)
-        .collect(Collectors.joining(", "));
-    String sql = String.format(SQL_UNLOCK, OUTBOX_SCHEMA, commaSeparatedIds);
-    try (PreparedStatement preparedStatement2 = connection.prepareStatement(sql)) {
-      preparedStatement2.execute();
+    executeForIds(connection, SQL_UNLOCK, ids);
+  }
+
+  private String formatDate(Date date) {
+    if (date == null) {
+      return null;
+    } else {
+      return DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ")
+          .withZone(ZoneId.systemDefault())
+          .format(date.toInstant());
     }
   }
 
-  private DataSource getDataSourceFromPropertiesFile() {
-    try {
+  /** The statements to claim events matching a condition with one of the dialects. */
+  private static final class ClaimStatements {
 
-      String jndiUrl = OutboxRestConfiguration.getOutboxDatasourceJndi();
-      if (jndiUrl != null) {
-        dataSource = (DataSource) new InitialContext().lookup(jndiUrl);
+    private final String claim;
+    private final String claimAndReturn;
 
-      } else {
+    private ClaimStatements(OutboxDialect dialect, String condition) {
+      claim = dialect.getClaimStatement(OUTBOX_SCHEMA, condition, MAX_NUMBER_OF_EVENTS_RETURNED);
+      claimAndReturn =
+          dialect.getClaimAndReturnStatement(
+              OUTBOX_SCHEMA, condition, MAX_NUMBER_OF_EVENTS_RETURNED);
+    }
 
-        dataSource =
-            createDatasource(
-                OutboxRestConfiguration.getOutboxDatasourceDriver(),
-                OutboxRestConfiguration.getOutboxDatasourceUrl(),
-                OutboxRestConfiguration.getOutboxDatasourceUsername(),
-                OutboxRestConfiguration.getOutboxDatasourcePassword());
+    private static Map<OutboxDialect, ClaimStatements> forAllDialects(String condition) {
+      Map<OutboxDialect, ClaimStatements> claimStatements = new EnumMap<>(OutboxDialect.class);
+      for (OutboxDialect dialect : OutboxDialect.values()) {
+        claimStatements.put(dialect, new ClaimStatements(dialect, condition));
       }
+      return claimStatements;
+    }
+  }
 
-    } catch (NamingException | NullPointerException e) {
-      LOGGER.warn(
-          "Caught {} while trying to retrieve the datasource from the provided properties file",
-          e.getClass().getName());
+  /**
+   * A statement restricted to a list of event ids, either with an array parameter or with one of
+   * the precomputed IN list lengths.
+   */
+  private static final class IdListStatement {
+
+    private static final int MAX_IN_LIST_LENGTH = 64;
+
+    private final String anyArray;
+    private final Map<Integer, String> inLists = new HashMap<>();
+
+    private IdListStatement(String sqlTemplate) {
+      anyArray = String.format(sqlTemplate, OUTBOX_SCHEMA, "id = any(?)");
+      for (int length = 1; length <= MAX_IN_LIST_LENGTH; length *= 2) {
+        inLists.put(
+            length,
+            String.format(
+                sqlTemplate,
+                OUTBOX_SCHEMA,
+                "id in (" + String.join(",", Collections.nCopies(length, "?")) + ")"));
+      }
     }
 
-    return dataSource;
-  }
+    private static int getInListLength(int numberOfIds) {
+      int length = 1;
+      while (length < numberOfIds) {
+        length *= 2;
+      }
+      return length;
+    }
 
-  private String formatDate(Date date) {
-    if (date == null) {
-      return null;
-    } else {
-      return DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ")
-          .withZone(ZoneId.systemDefault())
-          .format(date.toInstant());
+    private String getInList(int length) {
+      return inLists.get(length);
     }
   }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.service;
+
+import io.kadai.adapter.camunda.OutboxRestConfiguration;
+import io.kadai.adapter.camunda.outbox.rest.exception.CamundaTaskNotFoundException;
+import io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskOperationResult;
+import io.kadai.common.api.exceptions.SystemException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.ProcessEngines;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AssignTaskCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spinjar.com.fasterxml.jackson.databind.JsonNode;
+import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Completes, claims and cancels claims of Camunda tasks on behalf of the KADAI Adapter. */
+public class CamundaTaskOperationsService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskOperationsService.class);
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String CAMUNDA_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+  /**
+   * Sets the assignee of the Camunda task, sets the local variable "completedByKadaiAdapter" and
+   * completes the task with the given variables within one Camunda transaction.
+   *
+   * @param taskId the id of the Camunda task
+   * @param requestBody json body in the format {"assignee":"user","variables":{...}} where the
+   *     variables use the format of the Camunda REST API
+   * @throws InvalidArgumentException if the request body can't be processed
+   * @throws CamundaTaskNotFoundException if the Camunda task doesn't exist
+   */
+  public void completeTask(String taskId, String requestBody)
+      throws InvalidArgumentException, CamundaTaskNotFoundException {
+
+    JsonNode body = readRequestBody(requestBody);
+    VariableMap variables = toVariables(body.get("variables"));
+
+    try {
+      getCommandExecutor()
+          .execute(new CompleteTaskByKadaiAdapterCmd(taskId, getAssignee(body), variables));
+    } catch (NotFoundException | NullValueException e) {
+      throw new CamundaTaskNotFoundException(
+          String.format("Camunda task with id %s could not be completed", taskId), e);
+    }
+
+    LOGGER.debug("completed camunda task {} on behalf of the KADAI Adapter", taskId);
+  }
+
+  /**
+   * Completes a list of Camunda tasks like {@link #completeTask(String, String)}. Each task is
+   * completed in its own Camunda transaction, so that a failure doesn't affect the other tasks.
+   *
+   * @param requestBody json array in the format [{"taskId":"id","assignee":"user","variables":{}}]
+   * @return the result for each task in the order of the request
+   * @throws InvalidArgumentException if the request body is not a json array
+   */
+  public List<CamundaTaskOperationResult> completeTasks(String requestBody)
+      throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = new ArrayList<>();
+    for (JsonNode operation : readOperations(requestBody)) {
+      String taskId = operation.path("taskId").asText(null);
+      try {
+        results.add(
+            executeForTask(
+                taskId,
+                new CompleteTaskByKadaiAdapterCmd(
+                    taskId, getAssignee(operation), toVariables(operation.get("variables")))));
+      } catch (InvalidArgumentException e) {
+        results.add(new CamundaTaskOperationResult(taskId, 400, e.getMessage()));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Sets the assignee of a list of Camunda tasks. Each task is claimed in its own Camunda
+   * transaction.
+   *
+   * @param requestBody json array in the format [{"taskId":"id","assignee":"user"}]
+   * @return the result for each task in the order of the request
+   * @throws InvalidArgumentException if the request body is not a json array
+   */
+  public List<CamundaTaskOperationResult> claimTasks(String requestBody)
+      throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = new ArrayList<>();
+    for (JsonNode operation : readOperations(requestBody)) {
+      String taskId = operation.path("taskId").asText(null);
+      results.add(executeForTask(taskId, new AssignTaskCmd(taskId, getAssignee(operation))));
+    }
+    return results;
+  }
+
+  /**
+   * Removes the assignee of a list of Camunda tasks. Each claim is cancelled in its own Camunda
+   * transaction.
+   *
+   * @param requestBody json array in the format [{"taskId":"id"}]
+   * @return the result for each task in the order of the request
+   * @throws InvalidArgumentException if the request body is not a json array
+   */
+  public List<CamundaTaskOperationResult> cancelClaimTasks(String requestBody)
+      throws InvalidArgumentException {
+
+    List<CamundaTaskOperationResult> results = new ArrayList<>();
+    for (JsonNode operation : readOperations(requestBody)) {
+      String taskId = operation.path("taskId").asText(null);
+      results.add(executeForTask(taskId, new AssignTaskCmd(taskId, null)));
+    }
+    return results;
+  }
+
+  private CamundaTaskOperationResult executeForTask(String taskId, Command<?> command) {
+    if (taskId == null || taskId.isEmpty()) {
+      return new CamundaTaskOperationResult(
+          taskId, 400, "Please provide a taskId for each task operation");
+    }
+    try {
+      getCommandExecutor().execute(command);
+      return new CamundaTaskOperationResult(taskId, 204, null);
+    } catch (ProcessEngineException e) {
+      if (isTaskNotExisting(taskId)) {
+        return new CamundaTaskOperationResult(taskId, 404, e.getMessage());
+      }
+      LOGGER.warn("Caught Exception when executing operation on camunda task {}", taskId, e);
+      return new CamundaTaskOperationResult(taskId, 500, e.getMessage());
+    }
+  }
+
+  private boolean isTaskNotExisting(String taskId) {
+    return getProcessEngine().getTaskService().createTaskQuery().taskId(taskId).count() == 0;
+  }
+
+  private String getAssignee(JsonNode operation) {
+    JsonNode assigneeNode = operation.get("assignee");
+    return assigneeNode == null || assigneeNode.isNull() ? null : assigneeNode.asText();
+  }
+
+  private JsonNode readOperations(String requestBody) throws InvalidArgumentException {
+    try {
+      JsonNode operations = OBJECT_MAPPER.readTree(requestBody);
+      if (operations == null || !operations.isArray()) {
+        throw new InvalidArgumentException("Please provide a json array of task operations");
+      }
+      return operations;
+    } catch (InvalidArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new InvalidArgumentException("Could not parse request body " + requestBody, e);
+    }
+  }
+
+  private JsonNode readRequestBody(String requestBody) throws InvalidArgumentException {
+    try {
+      JsonNode body =
+          requestBody == null || requestBody.isEmpty()
+              ? OBJECT_MAPPER.createObjectNode()
+              : OBJECT_MAPPER.readTree(requestBody);
+      if (!body.isObject()) {
+        throw new InvalidArgumentException("Please provide a json object as request body");
+      }
+      return body;
+    } catch (InvalidArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new InvalidArgumentException("Could not parse request body " + requestBody, e);
+    }
+  }
+
+  private VariableMap toVariables(JsonNode variablesNode) throws InvalidArgumentException {
+    VariableMap variables = Variables.createVariables();
+    if (variablesNode == null || variablesNode.isNull()) {
+      return variables;
+    }
+    if (!variablesNode.isObject()) {
+      throw new InvalidArgumentException("Please provide the variables as json object");
+    }
+    Iterator<Map.Entry<String, JsonNode>> fields = variablesNode.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      variables.putValueTyped(field.getKey(), toTypedValue(field.getKey(), field.getValue()));
+    }
+    return variables;
+  }
+
+  private TypedValue toTypedValue(String name, JsonNode variable)
+      throws InvalidArgumentException {
+    JsonNode value = variable.get("value");
+    if (value == null || value.isNull()) {
+      return Variables.untypedNullValue();
+    }
+    JsonNode typeNode = variable.get("type");
+    if (typeNode == null || typeNode.isNull()) {
+      return Variables.untypedValue(OBJECT_MAPPER.convertValue(value, Object.class));
+    }
+
+    switch (typeNode.asText().toLowerCase(Locale.ROOT)) {
+      case "string":
+        return Variables.stringValue(value.asText());
+      case "boolean":
+        return Variables.booleanValue(value.asBoolean());
+      case "short":
+        return Variables.shortValue((short) value.asInt());
+      case "integer":
+        return Variables.integerValue(value.asInt());
+      case "long":
+        return Variables.longValue(value.asLong());
+      case "double":
+        return Variables.doubleValue(value.asDouble());
+      case "date":
+        return Variables.dateValue(parseDate(name, value.asText()));
+      case "object":
+        JsonNode valueInfo = variable.path("valueInfo");
+        String serializedValue = value.isTextual() ? value.asText() : value.toString();
+        return Variables.serializedObjectValue(serializedValue)
+            .serializationDataFormat(valueInfo.path("serializationDataFormat").asText(null))
+            .objectTypeName(valueInfo.path("objectTypeName").asText(null))
+            .create();
+      default:
+        throw new InvalidArgumentException(
+            String.format(
+                "Variable %s has the unsupported type %s", name, typeNode.asText()));
+    }
+  }
+
+  private Date parseDate(String name, String date) throws InvalidArgumentException {
+    try {
+      return new SimpleDateFormat(CAMUNDA_DATE_FORMAT).parse(date);
+    } catch (ParseException e) {
+      throw new InvalidArgumentException(
+          String.format("Variable %s contains the invalid date %s", name, date), e);
+    }
+  }
+
+  // the public Camunda API runs each call in its own transaction, only the internal command
+  // executor can run all steps of a completion in one transaction
+  private CommandExecutor getCommandExecutor() {
+    return ((ProcessEngineConfigurationImpl) getProcessEngine().getProcessEngineConfiguration())
+        .getCommandExecutorTxRequired();
+  }
+
+  private ProcessEngine getProcessEngine() {
+    String processEngineName = OutboxRestConfiguration.getProcessEngineName();
+    ProcessEngine processEngine = ProcessEngines.getProcessEngine(processEngineName);
+    if (processEngine == null) {
+      throw new SystemException(
+          String.format("Could not find the process engine %s", processEngineName));
+    }
+    return processEngine;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.service;
+
+import java.util.Collections;
+import java.util.Map;
+import org.camunda.bpm.engine.impl.cmd.AssignTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.CompleteTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.SetTaskVariablesCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Sets the assignee, marks the task as completed by the KADAI Adapter and completes it. All steps
+ * run in the same command context and therefore in one Camunda transaction.
+ */
+public class CompleteTaskByKadaiAdapterCmd implements Command<Void> {
+
+  static final String COMPLETED_BY_KADAI_ADAPTER_LOCAL_VARIABLE = "completedByKadaiAdapter";
+
+  private final String taskId;
+  private final String assignee;
+  private final Map<String, Object> variables;
+
+  public CompleteTaskByKadaiAdapterCmd(
+      String taskId, String assignee, Map<String, Object> variables) {
+    this.taskId = taskId;
+    this.assignee = assignee;
+    this.variables = variables;
+  }
+
+  @Override
+  public Void execute(CommandContext commandContext) {
+    new AssignTaskCmd(taskId, assignee).execute(commandContext);
+    new SetTaskVariablesCmd(
+            taskId,
+            Collections.singletonMap(COMPLETED_BY_KADAI_ADAPTER_LOCAL_VARIABLE, true),
+            true)
+        .execute(commandContext);
+    new CompleteTaskCmd(taskId, variables).execute(commandContext);
+    return null;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.adapter.camunda.outbox.rest.service;
+
+import io.kadai.adapter.camunda.OutboxRestConfiguration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import org.apache.ibatis.datasource.pooled.PoolState;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the data source of the outbox, which is shared by all requests. The data source is
+ * either looked up via JNDI or a connection pool configured by the outbox properties.
+ */
+final class OutboxDataSource {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OutboxDataSource.class);
+
+  private static volatile DataSource dataSource;
+
+  private OutboxDataSource() {}
+
+  static DataSource get() {
+    DataSource result = dataSource;
+    if (result == null) {
+      synchronized (OutboxDataSource.class) {
+        result = dataSource;
+        if (result == null) {
+          result = create();
+          dataSource = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the metrics of the connection pool.
+   *
+   * @return the metrics or an empty map, if the data source is not pooled by the outbox
+   */
+  static Map<String, Object> getPoolMetrics() {
+
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    if (!(dataSource instanceof PooledDataSource)) {
+      return metrics;
+    }
+
+    PooledDataSource pooledDataSource = (PooledDataSource) dataSource;
+    PoolState poolState = pooledDataSource.getPoolState();
+    synchronized (poolState) {
+      metrics.put("maximumActiveConnections", pooledDataSource.getPoolMaximumActiveConnections());
+      metrics.put("maximumIdleConnections", pooledDataSource.getPoolMaximumIdleConnections());
+      metrics.put("activeConnections", poolState.getActiveConnectionCount());
+      metrics.put("idleConnections", poolState.getIdleConnectionCount());
+      metrics.put("requestCount", poolState.getRequestCount());
+      metrics.put("averageRequestTime", poolState.getAverageRequestTime());
+      metrics.put("hadToWaitCount", poolState.getHadToWaitCount());
+      metrics.put("averageWaitTime", poolState.getAverageWaitTime());
+      metrics.put("averageCheckoutTime", poolState.getAverageCheckoutTime());
+      metrics.put("claimedOverdueConnectionCount", poolState.getClaimedOverdueConnectionCount());
+      metrics.put("averageOverdueCheckoutTime", poolState.getAverageOverdueCheckoutTime());
+      metrics.put("badConnectionCount", poolState.getBadConnectionCount());
+    }
+    return metrics;
+  }
+
+  private static DataSource create() {
+
+    String jndiUrl = OutboxRestConfiguration.getOutboxDatasourceJndi();
+    if (jndiUrl != null) {
+      try {
+        return (DataSource) new InitialContext().lookup(jndiUrl);
+      } catch (NamingException e) {
+        LOGGER.warn(
+            "Caught {} while trying to retrieve the datasource from the provided properties file",
+            e.getClass().getName());
+        return null;
+      }
+    }
+
+    PooledDataSource pooledDataSource =
+        new PooledDataSource(
+            OutboxRestConfiguration.getOutboxDatasourceDriver(),
+            OutboxRestConfiguration.getOutboxDatasourceUrl(),
+            OutboxRestConfiguration.getOutboxDatasourceUsername(),
+            OutboxRestConfiguration.getOutboxDatasourcePassword());
+
+    pooledDataSource.setPoolMaximumActiveConnections(
+        OutboxRestConfiguration.getOutboxDatasourcePoolMaximumActiveConnections());
+    pooledDataSource.setPoolMaximumIdleConnections(
+        OutboxRestConfiguration.getOutboxDatasourcePoolMaximumIdleConnections());
+    pooledDataSource.setPoolMaximumCheckoutTime(
+        (int) OutboxRestConfiguration.getOutboxDatasourcePoolMaximumCheckoutTime().toMillis());
+    pooledDataSource.setPoolTimeToWait(
+        (int) OutboxRestConfiguration.getOutboxDatasourcePoolTimeToWait().toMillis());
+
+    String pingQuery = OutboxRestConfiguration.getOutboxDatasourcePoolPingQuery();
+    if (pingQuery != null && !pingQuery.isEmpty()) {
+      pooledDataSource.setPoolPingQuery(pingQuery);
+      pooledDataSource.setPoolPingEnabled(true);
+      pooledDataSource.setPoolPingConnectionsNotUsedFor(
+          (int)
+              OutboxRestConfiguration.getOutboxDatasourcePoolPingConnectionsNotUsedFor()
+                  .toMillis());
+    }
+
+    LOGGER.info(
+        "Outbox uses a connection pool with at most {} active and {} idle connections",
+        pooledDataSource.getPoolMaximumActiveConnections(),
+        pooledDataSource.getPoolMaximumIdleConnections());
+    return pooledDataSource;
+  }
+}
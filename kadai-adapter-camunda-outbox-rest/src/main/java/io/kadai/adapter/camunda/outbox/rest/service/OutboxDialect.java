@@ -0,0 +1,112 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.service;
+
+/** The SQL of the outbox that differs between the supported databases. */
+enum OutboxDialect {
+  POSTGRES(
+      " fetch first %d rows only for update skip locked",
+      "update %1$s.event_store set lock_expire = ? where id in "
+          + "(select id from %1$s.event_store where %2$s%3$s) returning *",
+      " overriding system value"),
+  H2(
+      " fetch first %d rows only for update skip locked",
+      "select * from final table (update %1$s.event_store set lock_expire = ? where id in "
+          + "(select id from %1$s.event_store where %2$s%3$s))",
+      " overriding system value"),
+  DB2(" fetch first %d rows only for update skip locked data", null, ""),
+  // Oracle rejects fetch first together with for update, the rows are limited by maxRows.
+  // Its id trigger only assigns an id if none is given.
+  ORACLE(" for update skip locked", null, ""),
+  // skip locked is not standard SQL, unknown databases keep the plain locking select
+  OTHER(" fetch first %d rows only for update", null, "");
+
+  private static final String SQL_CLAIM = "select * from %s.event_store where %s%s";
+
+  private final String claimClause;
+  private final String claimAndReturnStatement;
+  private final String overridingIdentityClause;
+
+  OutboxDialect(
+      String claimClause, String claimAndReturnStatement, String overridingIdentityClause) {
+    this.claimClause = claimClause;
+    this.claimAndReturnStatement = claimAndReturnStatement;
+    this.overridingIdentityClause = overridingIdentityClause;
+  }
+
+  static OutboxDialect of(String databaseProductName) {
+    if ("PostgreSQL".equals(databaseProductName)) {
+      return POSTGRES;
+    } else if ("H2".equals(databaseProductName)) {
+      return H2;
+    } else if (databaseProductName != null && databaseProductName.contains("DB2")) {
+      return DB2;
+    } else if (databaseProductName != null
+        && databaseProductName.toLowerCase().startsWith("oracle")) {
+      return ORACLE;
+    }
+    return OTHER;
+  }
+
+  /**
+   * Returns a select statement that locks up to the given number of events matching the
+   * condition. On the databases known to support it, events that are locked by a concurrent
+   * transaction are skipped, otherwise the statement waits for them.
+   *
+   * @param schema the outbox schema
+   * @param condition the condition the events have to match
+   * @param maxNumberOfEvents the maximum number of events to select
+   * @return the select statement
+   */
+  String getClaimStatement(String schema, String condition, int maxNumberOfEvents) {
+    return String.format(SQL_CLAIM, schema, condition, getClaimClause(maxNumberOfEvents));
+  }
+
+  /**
+   * Returns a single statement that sets the lock_expire of up to the given number of events
+   * matching the condition and returns the updated events. Its first parameter is the new
+   * lock_expire, followed by the parameters of the condition.
+   *
+   * @param schema the outbox schema
+   * @param condition the condition the events have to match
+   * @param maxNumberOfEvents the maximum number of events to claim
+   * @return the statement or null, if the database has no such statement
+   */
+  String getClaimAndReturnStatement(String schema, String condition, int maxNumberOfEvents) {
+    if (claimAndReturnStatement == null) {
+      return null;
+    }
+    return String.format(
+        claimAndReturnStatement, schema, condition, getClaimClause(maxNumberOfEvents));
+  }
+
+  /**
+   * Returns the clause that follows the column list of an insert statement to insert the given
+   * ids into the identity column of the event_store.
+   *
+   * @return the clause or an empty string, if the database needs none
+   */
+  String getOverridingIdentityClause() {
+    return overridingIdentityClause;
+  }
+
+  private String getClaimClause(int maxNumberOfEvents) {
+    return String.format(claimClause, maxNumberOfEvents);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest.service;
+
+import io.kadai.adapter.camunda.OutboxRestConfiguration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the executor that polls the outbox again for waiting long polling requests, and limits
+ * the number of requests waiting at the same time. The executor is either looked up via JNDI, so
+ * that the container manages it, or a bounded pool owned by the outbox. The idle threads of the
+ * pool end on their own, and the pool is shut down with {@link #shutdown()} when the outbox is
+ * undeployed.
+ */
+public final class OutboxLongPolling {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OutboxLongPolling.class);
+
+  private static final long THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+  private static final Semaphore WAITERS =
+      new Semaphore(OutboxRestConfiguration.getOutboxLongPollMaximumWaiters());
+
+  private static ScheduledExecutorService executor;
+  private static boolean containerManaged;
+
+  private OutboxLongPolling() {}
+
+  /**
+   * Shuts down the pool owned by the outbox. Requests waiting at that time are not polled again.
+   * An executor managed by the container is left to the container. A later request creates a new
+   * pool.
+   */
+  public static synchronized void shutdown() {
+    if (executor != null && !containerManaged) {
+      executor.shutdownNow();
+    }
+    executor = null;
+  }
+
+  /**
+   * Reserves a place for a request that waits for events.
+   *
+   * @return true if the request may wait, false if the maximum number of waiting requests is
+   *     reached
+   */
+  static boolean tryAddWaiter() {
+    return WAITERS.tryAcquire();
+  }
+
+  /** Releases the place of a request that stopped waiting for events. */
+  static void removeWaiter() {
+    WAITERS.release();
+  }
+
+  /**
+   * Schedules the next poll of a waiting request.
+   *
+   * @param poll the poll
+   * @param delayInMilliseconds the delay of the poll
+   * @return true if the poll was scheduled, false if the executor is shut down
+   */
+  static boolean schedule(Runnable poll, long delayInMilliseconds) {
+    try {
+      get().schedule(poll, delayInMilliseconds, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Could not schedule the next poll of a waiting long polling request", e);
+      return false;
+    }
+  }
+
+  private static synchronized ScheduledExecutorService get() {
+    if (executor == null) {
+      executor = lookup();
+      containerManaged = executor != null;
+      if (executor == null) {
+        executor = create();
+      }
+    }
+    return executor;
+  }
+
+  private static ScheduledExecutorService lookup() {
+
+    String jndiUrl = OutboxRestConfiguration.getOutboxLongPollExecutorJndi();
+    if (jndiUrl == null || jndiUrl.isEmpty()) {
+      return null;
+    }
+    try {
+      return (ScheduledExecutorService) new InitialContext().lookup(jndiUrl);
+    } catch (NamingException | ClassCastException e) {
+      LOGGER.warn(
+          "Caught {} while trying to retrieve the long poll executor {}, "
+              + "using an executor of the outbox instead",
+          e.getClass().getName(),
+          jndiUrl);
+      return null;
+    }
+  }
+
+  private static ScheduledExecutorService create() {
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    ScheduledThreadPoolExecutor pool =
+        new ScheduledThreadPoolExecutor(
+            OutboxRestConfiguration.getOutboxLongPollThreads(),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "kadai-outbox-long-poll-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    pool.setKeepAliveTime(THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS);
+    pool.allowCoreThreadTimeOut(true);
+
+    LOGGER.info(
+        "Outbox polls waiting long polling requests with at most {} threads",
+        pool.getCorePoolSize());
+    return pool;
+  }
+}
@@ -20,10 +20,12 @@ package io.kadai.adapter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.common.api.KadaiEngine;
 import io.kadai.spi.routing.api.TaskRoutingProvider;
 import io.kadai.spi.routing.internal.TaskRoutingManager;
 import io.kadai.taskrouting.ExampleTaskRouter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.lang.reflect.Field;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -34,8 +36,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 class KadaiAdapterApplicationTest {
 
   private final List<TaskRoutingProvider> taskRoutingProviders;
+  private final MeterRegistry meterRegistry;
 
-  KadaiAdapterApplicationTest(@Autowired KadaiEngine kadaiEngine) throws Exception {
+  KadaiAdapterApplicationTest(
+      @Autowired KadaiEngine kadaiEngine, @Autowired MeterRegistry meterRegistry)
+      throws Exception {
+    this.meterRegistry = meterRegistry;
     TaskRoutingManager taskRoutingManager =
         (TaskRoutingManager) getValueFromPrivateFieldOfSuperclass(kadaiEngine,
             "taskRoutingManager");
@@ -50,6 +56,22 @@ class KadaiAdapterApplicationTest {
     assertThat(taskRoutingProviders.get(0)).isInstanceOf(ExampleTaskRouter.class);
   }
 
+  @Test
+  void should_ExposeExecutorMetrics_When_ApplicationIsStarting() {
+    assertThat(
+            meterRegistry
+                .find("executor.queued")
+                .tag("name", SchedulerConfiguration.KADAI_TASK_STARTER_EXECUTOR)
+                .gauge())
+        .isNotNull();
+    assertThat(
+            meterRegistry
+                .find("executor.active")
+                .tag("name", SchedulerConfiguration.KADAI_TASK_STARTER_SCHEDULER)
+                .gauge())
+        .isNotNull();
+  }
+
   private Object getValueFromPrivateField(Object obj, String fieldName)
       throws NoSuchFieldException, IllegalAccessException {
     Field nameField = obj.getClass().getDeclaredField(fieldName);
@@ -1 +1,2 @@
 delete from kadai_tables.event_store;
+delete from kadai_tables.event_store_dead_letter;
@@ -1 +1,2 @@
 DELETE FROM KADAI_TABLES.EVENT_STORE;
+DELETE FROM KADAI_TABLES.EVENT_STORE_DEAD_LETTER;
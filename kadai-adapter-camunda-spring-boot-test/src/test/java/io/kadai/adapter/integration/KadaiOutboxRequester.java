@@ -19,7 +19,9 @@
 package io.kadai.adapter.integration;
 
 import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskOperationResult;
 import io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
+import io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskOperationResultListResource;
 import io.kadai.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 import java.util.List;
 import org.json.JSONException;
@@ -27,12 +29,14 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 
 /** Class to assist with building requests against the TASKNA Outbox REST API. */
 public class KadaiOutboxRequester {
 
   private static final String BASIC_OUTBOX_PATH = "http://localhost:10020/outbox-rest/events";
+  private static final String BASIC_OUTBOX_TASKS_PATH = "http://localhost:10020/outbox-rest/tasks";
 
   private final TestRestTemplate restTemplate;
 
@@ -86,6 +90,18 @@ public class KadaiOutboxRequester {
     return answer.getBody().getCamundaTaskEvents();
   }
 
+  public List<CamundaTaskEvent> getDeadLetterEvents() {
+
+    String url = BASIC_OUTBOX_PATH + "?dead-letter=true";
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEventListResource> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.GET, requestEntity, CamundaTaskEventListResource.class);
+
+    return answer.getBody().getCamundaTaskEvents();
+  }
+
   public List<CamundaTaskEvent> getAllEvents() {
 
     String url = BASIC_OUTBOX_PATH;
@@ -98,6 +114,45 @@ public class KadaiOutboxRequester {
     return answer.getBody().getCamundaTaskEvents();
   }
 
+  public List<CamundaTaskEvent> getCreateEvents(int waitForSeconds) {
+
+    String url = BASIC_OUTBOX_PATH + "?type=create&wait-for=" + waitForSeconds;
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEventListResource> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.GET, requestEntity, CamundaTaskEventListResource.class);
+
+    return answer.getBody().getCamundaTaskEvents();
+  }
+
+  public CamundaTaskEvent getEvent(int id) {
+
+    String url = BASIC_OUTBOX_PATH + "/" + id;
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEvent> answer =
+        this.restTemplate.exchange(url, HttpMethod.GET, requestEntity, CamundaTaskEvent.class);
+
+    if (HttpStatus.OK.equals(answer.getStatusCode())) {
+      return answer.getBody();
+    }
+    return null;
+  }
+
+  public CamundaTaskEventListResource getEventsPage(int afterId, int limit, boolean stream) {
+
+    String url =
+        BASIC_OUTBOX_PATH + "?after-id=" + afterId + "&limit=" + limit + "&stream=" + stream;
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEventListResource> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.GET, requestEntity, CamundaTaskEventListResource.class);
+
+    return answer.getBody();
+  }
+
   public boolean setRemainingRetries(int id, int newRetries) throws JSONException {
 
     String url = BASIC_OUTBOX_PATH + "/" + id;
@@ -129,4 +184,30 @@ public class KadaiOutboxRequester {
     }
     return false;
   }
+
+  public List<CamundaTaskOperationResult> performTaskOperations(
+      String operation, String requestBody) {
+
+    String url = BASIC_OUTBOX_TASKS_PATH + "/" + operation;
+
+    HttpEntity<String> requestEntity =
+        httpHeaderProvider.prepareNewEntityForOutboxRestApi(requestBody);
+    ResponseEntity<CamundaTaskOperationResultListResource> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.POST, requestEntity, CamundaTaskOperationResultListResource.class);
+
+    return answer.getBody().getResults();
+  }
+
+  public HttpStatusCode completeTask(String taskId, String requestBody) {
+
+    String url = BASIC_OUTBOX_TASKS_PATH + "/" + taskId + "/complete";
+
+    HttpEntity<String> requestEntity =
+        httpHeaderProvider.prepareNewEntityForOutboxRestApi(requestBody);
+    ResponseEntity<String> answer =
+        this.restTemplate.exchange(url, HttpMethod.POST, requestEntity, String.class);
+
+    return answer.getStatusCode();
+  }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskOperationResult;
+import io.kadai.adapter.test.KadaiAdapterTestApplication;
+import io.kadai.common.test.security.JaasExtension;
+import io.kadai.common.test.security.WithAccessId;
+import java.util.List;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ContextConfiguration;
+
+/** Test class to test the task operations of the outbox REST service. */
+@SpringBootTest(
+    classes = KadaiAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+@ContextConfiguration
+class TestCamundaTaskOperations extends AbsIntegrationTest {
+
+  private static final String UNKNOWN_TASK_ID = "5f1e3d5c-0000-0000-0000-000000000000";
+
+  @Autowired private SpringProcessEngineConfiguration springProcessEngineConfiguration;
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_AssignSetVariablesAndComplete_When_CompletingSingleTask() throws Exception {
+
+    String processInstanceId =
+        camundaProcessengineRequester.startCamundaProcessAndReturnId(
+            "simple_user_task_process", "");
+    List<String> camundaTaskIds =
+        camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+    assertThat(camundaTaskIds).hasSize(1);
+    String taskId = camundaTaskIds.get(0);
+
+    assertThat(
+            kadaiOutboxRequester.completeTask(
+                taskId,
+                "{\"assignee\":\"teamlead_1\","
+                    + "\"variables\":{\"amount\":{\"type\":\"integer\",\"value\":5}}}"))
+        .isEqualTo(HttpStatus.NO_CONTENT);
+
+    assertThat(camundaProcessengineRequester.getTaskFromTaskId(taskId)).isFalse();
+    assertThat(camundaProcessengineRequester.isCorrectAssigneeFromHistory(taskId, "teamlead_1"))
+        .isTrue();
+
+    HistoryService historyService = springProcessEngineConfiguration.getHistoryService();
+    HistoricVariableInstance amount =
+        historyService
+            .createHistoricVariableInstanceQuery()
+            .processInstanceId(processInstanceId)
+            .variableName("amount")
+            .singleResult();
+    assertThat(amount.getValue()).isEqualTo(5);
+    HistoricVariableInstance completedByKadaiAdapter =
+        historyService
+            .createHistoricVariableInstanceQuery()
+            .taskIdIn(taskId)
+            .variableName("completedByKadaiAdapter")
+            .singleResult();
+    assertThat(completedByKadaiAdapter.getValue()).isEqualTo(true);
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_ReturnNotFound_When_CompletingSingleTaskThatDoesNotExist() {
+
+    assertThat(kadaiOutboxRequester.completeTask(UNKNOWN_TASK_ID, "{\"assignee\":\"teamlead_1\"}"))
+        .isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_ReturnNotFound_When_CompletingSingleTaskThatIsAlreadyCompleted() throws Exception {
+
+    String taskId = startSimpleUserTaskProcessAndReturnTaskId();
+
+    assertThat(kadaiOutboxRequester.completeTask(taskId, "{\"assignee\":\"teamlead_1\"}"))
+        .isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(kadaiOutboxRequester.completeTask(taskId, "{\"assignee\":\"teamlead_2\"}"))
+        .isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(camundaProcessengineRequester.isCorrectAssigneeFromHistory(taskId, "teamlead_1"))
+        .isTrue();
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_ClaimAndCancelClaimOfExistingTasks_When_PostingBulkTaskOperations()
+      throws Exception {
+
+    String firstTaskId = startSimpleUserTaskProcessAndReturnTaskId();
+    String secondTaskId = startSimpleUserTaskProcessAndReturnTaskId();
+
+    List<CamundaTaskOperationResult> claimResults =
+        kadaiOutboxRequester.performTaskOperations(
+            "claim",
+            "[{\"taskId\":\"" + firstTaskId + "\",\"assignee\":\"teamlead_2\"},"
+                + "{\"taskId\":\"" + UNKNOWN_TASK_ID + "\",\"assignee\":\"teamlead_2\"},"
+                + "{\"taskId\":\"" + secondTaskId + "\",\"assignee\":\"teamlead_2\"}]");
+
+    assertThat(claimResults)
+        .extracting(CamundaTaskOperationResult::getTaskId, CamundaTaskOperationResult::getStatus)
+        .containsExactly(
+            tuple(firstTaskId, 204), tuple(UNKNOWN_TASK_ID, 404), tuple(secondTaskId, 204));
+    assertThat(camundaProcessengineRequester.isCorrectAssignee(firstTaskId, "teamlead_2"))
+        .isTrue();
+    assertThat(camundaProcessengineRequester.isCorrectAssignee(secondTaskId, "teamlead_2"))
+        .isTrue();
+
+    List<CamundaTaskOperationResult> cancelClaimResults =
+        kadaiOutboxRequester.performTaskOperations(
+            "unclaim",
+            "[{\"taskId\":\"" + firstTaskId + "\"},{\"taskId\":\"" + UNKNOWN_TASK_ID + "\"}]");
+
+    assertThat(cancelClaimResults)
+        .extracting(CamundaTaskOperationResult::getTaskId, CamundaTaskOperationResult::getStatus)
+        .containsExactly(tuple(firstTaskId, 204), tuple(UNKNOWN_TASK_ID, 404));
+    assertThat(camundaProcessengineRequester.isCorrectAssignee(firstTaskId, null)).isTrue();
+    assertThat(camundaProcessengineRequester.isCorrectAssignee(secondTaskId, "teamlead_2"))
+        .isTrue();
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_CompleteOnlyValidTasks_When_PostingBulkCompletionWithPartialFailures()
+      throws Exception {
+
+    String completedTaskId = startSimpleUserTaskProcessAndReturnTaskId();
+    String invalidTaskId = startSimpleUserTaskProcessAndReturnTaskId();
+
+    List<CamundaTaskOperationResult> results =
+        kadaiOutboxRequester.performTaskOperations(
+            "complete",
+            "[{\"taskId\":\"" + completedTaskId + "\",\"assignee\":\"teamlead_1\","
+                + "\"variables\":{\"amount\":{\"type\":\"integer\",\"value\":5}}},"
+                + "{\"taskId\":\"" + invalidTaskId + "\",\"assignee\":\"teamlead_1\","
+                + "\"variables\":{\"amount\":{\"type\":\"unsupported\",\"value\":5}}},"
+                + "{\"taskId\":\"" + UNKNOWN_TASK_ID + "\",\"assignee\":\"teamlead_1\"},"
+                + "{\"assignee\":\"teamlead_1\"}]");
+
+    assertThat(results)
+        .extracting(CamundaTaskOperationResult::getTaskId, CamundaTaskOperationResult::getStatus)
+        .containsExactly(
+            tuple(completedTaskId, 204),
+            tuple(invalidTaskId, 400),
+            tuple(UNKNOWN_TASK_ID, 404),
+            tuple(null, 400));
+
+    assertThat(camundaProcessengineRequester.getTaskFromTaskId(completedTaskId)).isFalse();
+    assertThat(
+            camundaProcessengineRequester.isCorrectAssigneeFromHistory(
+                completedTaskId, "teamlead_1"))
+        .isTrue();
+    // the failed completion left the task untouched
+    assertThat(camundaProcessengineRequester.getTaskFromTaskId(invalidTaskId)).isTrue();
+    assertThat(camundaProcessengineRequester.isCorrectAssignee(invalidTaskId, null)).isTrue();
+  }
+
+  private String startSimpleUserTaskProcessAndReturnTaskId() throws Exception {
+    String processInstanceId =
+        camundaProcessengineRequester.startCamundaProcessAndReturnId(
+            "simple_user_task_process", "");
+    List<String> camundaTaskIds =
+        camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+    assertThat(camundaTaskIds).hasSize(1);
+    return camundaTaskIds.get(0);
+  }
+}
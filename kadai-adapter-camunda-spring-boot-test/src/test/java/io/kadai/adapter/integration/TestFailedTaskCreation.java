@@ -260,4 +260,91 @@ class TestFailedTaskCreation extends AbsIntegrationTest {
 
     assertThat(failedEvents).isEmpty();
   }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_KeepEventId_When_RestoringFailedEventFromDeadLetter() throws Exception {
+
+    String processInstanceId =
+        this.camundaProcessengineRequester.startCamundaProcessAndReturnId(
+            "simple_user_task_process_with_incorrect_workbasket_key", "");
+
+    List<String> camundaTaskIds =
+        this.camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+
+    assertThat(camundaTaskIds).hasSize(3);
+
+    Thread.sleep(
+        (long) (this.adapterTaskPollingInterval * 1.2 + this.adapterRetryAndBlockingInterval));
+
+    // retries = 0, the failed events have been moved into the dead letter table
+    List<CamundaTaskEvent> failedEvents = kadaiOutboxRequester.getFailedEvents();
+
+    assertThat(failedEvents).hasSize(3);
+
+    int restoredEventId = failedEvents.get(0).getId();
+
+    assertThat(kadaiOutboxRequester.setRemainingRetries(restoredEventId, 3)).isTrue();
+
+    CamundaTaskEvent restoredEvent = kadaiOutboxRequester.getEvent(restoredEventId);
+
+    assertThat(restoredEvent).isNotNull();
+    assertThat(restoredEvent.getId()).isEqualTo(restoredEventId);
+    assertThat(restoredEvent.getCamundaTaskId())
+        .isEqualTo(failedEvents.get(0).getCamundaTaskId());
+    assertThat(kadaiOutboxRequester.getFailedEvents())
+        .extracting(CamundaTaskEvent::getId)
+        .doesNotContain(restoredEventId);
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_KeepEventIds_When_MovingEventsBetweenEventStoreAndDeadLetter() throws Exception {
+
+    String processInstanceId =
+        this.camundaProcessengineRequester.startCamundaProcessAndReturnId(
+            "simple_user_task_process_with_incorrect_workbasket_key", "");
+
+    List<String> camundaTaskIds =
+        this.camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+
+    assertThat(camundaTaskIds).hasSize(3);
+
+    Thread.sleep(
+        (long) (this.adapterTaskPollingInterval * 1.2 + this.adapterRetryAndBlockingInterval));
+
+    List<Integer> failedEventIds =
+        kadaiOutboxRequester.getFailedEvents().stream().map(CamundaTaskEvent::getId).toList();
+
+    assertThat(failedEventIds).hasSize(3);
+
+    // restore all events into the event store
+    assertThat(kadaiOutboxRequester.setRemainingRetriesForAll(3)).isTrue();
+
+    assertThat(kadaiOutboxRequester.getFailedEvents()).isEmpty();
+    for (int eventId : failedEventIds) {
+      assertThat(kadaiOutboxRequester.getEvent(eventId)).isNotNull();
+    }
+
+    // move one of them back into the dead letter table
+    int movedEventId = failedEventIds.get(1);
+
+    assertThat(kadaiOutboxRequester.setRemainingRetries(movedEventId, 0)).isTrue();
+
+    assertThat(kadaiOutboxRequester.getFailedEvents())
+        .extracting(CamundaTaskEvent::getId)
+        .containsExactly(movedEventId);
+    assertThat(kadaiOutboxRequester.getEvent(movedEventId).getRemainingRetries()).isZero();
+    // the event store listing leaves out the dead letter events
+    assertThat(kadaiOutboxRequester.getDeadLetterEvents())
+        .extracting(CamundaTaskEvent::getId)
+        .containsExactly(movedEventId);
+    assertThat(kadaiOutboxRequester.getAllEvents())
+        .extracting(CamundaTaskEvent::getId)
+        .doesNotContain(movedEventId);
+  }
 }
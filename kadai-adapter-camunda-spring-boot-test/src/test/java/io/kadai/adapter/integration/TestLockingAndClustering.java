@@ -20,9 +20,12 @@ package io.kadai.adapter.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
 import io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
 import io.kadai.adapter.impl.KadaiTaskStarter;
 import io.kadai.adapter.impl.KadaiTaskTerminator;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
 import io.kadai.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 import io.kadai.adapter.test.KadaiAdapterTestApplication;
 import io.kadai.common.api.security.UserPrincipal;
@@ -32,8 +35,15 @@ import io.kadai.common.test.util.ParallelThreadHelper;
 import io.kadai.task.api.TaskState;
 import io.kadai.task.api.models.TaskSummary;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.security.auth.Subject;
@@ -76,6 +86,8 @@ class TestLockingAndClustering extends AbsIntegrationTest {
   KadaiTaskStarter kadaiTaskStarter;
   @Autowired
   KadaiTaskTerminator kadaiTaskTerminator;
+  @Autowired
+  AdapterManager adapterManager;
 
   @Value("${kadai-system-connector-camundaSystemURLs}")
   private String configuredSystemConnectorUrls;
@@ -213,6 +225,63 @@ class TestLockingAndClustering extends AbsIntegrationTest {
     }
   }
 
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_NotClaimAnEventTwice_When_GettingWithLockConcurrently() throws Exception {
+    TestRestTemplate restTemplate =
+        new TestRestTemplate(
+            new RestTemplateBuilder()
+                .rootUri("http://localhost:" + port)
+                .requestFactory(HttpComponentsClientHttpRequestFactory.class));
+    // let the adapter consume the events of earlier tests, then keep it off the outbox
+    Thread.sleep((long) (this.adapterTaskPollingInterval * 1.2));
+    final Map<String, SystemConnector> originalSystemConnectors =
+        new HashMap<>(adapterManager.getSystemConnectors());
+    adapterManager.getSystemConnectors().clear();
+    ExecutorService executorService = Executors.newFixedThreadPool(16);
+    try {
+      List<String> camundaTaskIds = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        String processInstanceId =
+            this.camundaProcessengineRequester.startCamundaProcessAndReturnId(
+                "simple_user_task_process", "");
+        camundaTaskIds.addAll(
+            this.camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(
+                processInstanceId));
+      }
+      assertThat(camundaTaskIds).hasSize(20);
+
+      String url = BASIC_OUTBOX_PATH + "?type=create&lock-for=60";
+      HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+      Callable<List<CamundaTaskEvent>> claimEvents =
+          () -> {
+            List<CamundaTaskEvent> claimedEvents = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+              ResponseEntity<CamundaTaskEventListResource> answer =
+                  restTemplate.exchange(
+                      url, HttpMethod.GET, requestEntity, CamundaTaskEventListResource.class);
+              claimedEvents.addAll(answer.getBody().getCamundaTaskEvents());
+            }
+            return claimedEvents;
+          };
+      List<CamundaTaskEvent> claimedEvents = new ArrayList<>();
+      for (Future<List<CamundaTaskEvent>> result :
+          executorService.invokeAll(Collections.nCopies(16, claimEvents))) {
+        claimedEvents.addAll(result.get());
+      }
+
+      assertThat(claimedEvents).extracting(CamundaTaskEvent::getId).doesNotHaveDuplicates();
+      assertThat(claimedEvents)
+          .extracting(CamundaTaskEvent::getCamundaTaskId)
+          .containsExactlyInAnyOrderElementsOf(camundaTaskIds);
+    } finally {
+      executorService.shutdownNow();
+      adapterManager.getSystemConnectors().putAll(originalSystemConnectors);
+    }
+  }
+
   private Runnable getRunnableTest(List<String> accessIds, PrivilegedAction<Void> action) {
     return () -> {
       Subject subject = new Subject();
@@ -0,0 +1,106 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.adapter.test.KadaiAdapterTestApplication;
+import io.kadai.common.test.security.JaasExtension;
+import io.kadai.common.test.security.WithAccessId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ContextConfiguration;
+
+/** Test class to test the long polling of the outbox REST service. */
+@SpringBootTest(
+    classes = KadaiAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+@ContextConfiguration
+class TestOutboxLongPolling extends AbsIntegrationTest {
+
+  @Autowired AdapterManager adapterManager;
+
+  private Map<String, SystemConnector> originalSystemConnectors;
+
+  @BeforeEach
+  void removeSystemConnectors() throws Exception {
+    // let the adapter consume the events of earlier tests, then keep it off the outbox
+    Thread.sleep((long) (this.adapterTaskPollingInterval * 1.2));
+    originalSystemConnectors = new HashMap<>(adapterManager.getSystemConnectors());
+    adapterManager.getSystemConnectors().clear();
+  }
+
+  @AfterEach
+  void restoreSystemConnectors() {
+    adapterManager.getSystemConnectors().putAll(originalSystemConnectors);
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_ReturnNewEvent_When_EventIsWrittenWhileWaiting() throws Exception {
+
+    long start = System.currentTimeMillis();
+    CompletableFuture<List<CamundaTaskEvent>> longPoll =
+        CompletableFuture.supplyAsync(() -> kadaiOutboxRequester.getCreateEvents(20));
+    Thread.sleep(2000);
+    assertThat(longPoll).isNotDone();
+
+    String processInstanceId =
+        this.camundaProcessengineRequester.startCamundaProcessAndReturnId(
+            "simple_user_task_process", "");
+    List<String> camundaTaskIds =
+        this.camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+
+    List<CamundaTaskEvent> events = longPoll.get(10, TimeUnit.SECONDS);
+    assertThat(System.currentTimeMillis() - start).isLessThan(20_000);
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getPayload()).contains(camundaTaskIds.get(0));
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_ReturnNoEvents_When_WaitTimeIsOver() {
+
+    long start = System.currentTimeMillis();
+    List<CamundaTaskEvent> events = kadaiOutboxRequester.getCreateEvents(1);
+
+    assertThat(events).isEmpty();
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(1000);
+  }
+}
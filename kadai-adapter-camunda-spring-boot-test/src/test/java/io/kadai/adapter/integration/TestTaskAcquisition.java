@@ -21,6 +21,8 @@ package io.kadai.adapter.integration;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import io.kadai.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import io.kadai.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
 import io.kadai.adapter.manager.AdapterManager;
 import io.kadai.adapter.systemconnector.api.SystemConnector;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaSystemConnectorImpl;
@@ -39,12 +41,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
+import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
@@ -58,6 +65,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.co.datumedge.hamcrest.json.SameJSONAs;
 
 /** Test class to test the conversion of tasks generated by Camunda BPM to Kadai tasks. */
@@ -73,6 +81,8 @@ class TestTaskAcquisition extends AbsIntegrationTest {
   private static final Logger LOGGER = LoggerFactory.getLogger(TestTaskAcquisition.class);
   @Autowired AdapterManager adapterManager;
 
+  @Autowired SpringProcessEngineConfiguration springProcessEngineConfiguration;
+
   @Value("${kadai-system-connector-camundaSystemURLs}")
   private String configuredSystemConnectorUrls;
 
@@ -155,6 +165,47 @@ class TestTaskAcquisition extends AbsIntegrationTest {
     }
   }
 
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_CreateKadaiTasks_When_StartUserTaskProcessInstancesInSpringManagedTransaction()
+      throws Exception {
+
+    // the outbox events are written when the Spring transaction is committing, i.e. after the
+    // engine has left its command contexts
+    RuntimeService runtimeService = springProcessEngineConfiguration.getRuntimeService();
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(springProcessEngineConfiguration.getTransactionManager());
+    List<String> processInstanceIds =
+        transactionTemplate.execute(
+            status ->
+                Stream.of("simple_user_task_process", "simple_user_task_process")
+                    .map(runtimeService::startProcessInstanceByKey)
+                    .map(ProcessInstance::getId)
+                    .collect(Collectors.toList()));
+
+    assertThat(processInstanceIds).hasSize(2);
+    assertThat(
+            runtimeService
+                .createProcessInstanceQuery()
+                .processInstanceIds(new HashSet<>(processInstanceIds))
+                .count())
+        .isEqualTo(2);
+
+    Thread.sleep((long) (this.adapterTaskPollingInterval * 1.2));
+
+    for (String processInstanceId : processInstanceIds) {
+      List<String> camundaTaskIds =
+          this.camundaProcessengineRequester.getTaskIdsFromProcessInstanceId(processInstanceId);
+      assertThat(camundaTaskIds).hasSize(1);
+      List<TaskSummary> kadaiTasks =
+          this.taskService.createTaskQuery().externalIdIn(camundaTaskIds.get(0)).list();
+      assertThat(kadaiTasks).hasSize(1);
+      assertThat(kadaiTasks.get(0).getBusinessProcessId()).isEqualTo(processInstanceId);
+    }
+  }
+
   @WithAccessId(
       user = "teamlead_1",
       groups = {"taskadmin"})
@@ -681,6 +732,46 @@ class TestTaskAcquisition extends AbsIntegrationTest {
     adapterManager.getSystemConnectors().putAll(originalSystemConnectors);
   }
 
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_PageThroughEvents_When_GettingEventsWithAfterIdAndLimit() throws Exception {
+
+    final Map<String, SystemConnector> originalSystemConnectors =
+        new HashMap<>(adapterManager.getSystemConnectors());
+
+    setSystemConnector("wrongIdentifier");
+
+    for (int i = 0; i < 3; i++) {
+      this.camundaProcessengineRequester.startCamundaProcessAndReturnId(
+          "simple_user_task_process", "");
+    }
+    List<Integer> allEventIds =
+        kadaiOutboxRequester.getAllEvents().stream()
+            .map(CamundaTaskEvent::getId)
+            .collect(Collectors.toList());
+    assertThat(allEventIds).hasSize(3).isSorted();
+
+    for (boolean stream : new boolean[] {false, true}) {
+      CamundaTaskEventListResource firstPage = kadaiOutboxRequester.getEventsPage(0, 2, stream);
+      assertThat(firstPage.getCamundaTaskEvents())
+          .extracting(CamundaTaskEvent::getId)
+          .containsExactlyElementsOf(allEventIds.subList(0, 2));
+      assertThat(firstPage.getNextAfterId()).isEqualTo(allEventIds.get(1));
+
+      CamundaTaskEventListResource lastPage =
+          kadaiOutboxRequester.getEventsPage(firstPage.getNextAfterId(), 2, stream);
+      assertThat(lastPage.getCamundaTaskEvents())
+          .extracting(CamundaTaskEvent::getId)
+          .containsExactly(allEventIds.get(2));
+      assertThat(lastPage.getNextAfterId()).isNull();
+    }
+
+    adapterManager.getSystemConnectors().clear();
+    adapterManager.getSystemConnectors().putAll(originalSystemConnectors);
+  }
+
   @WithAccessId(
       user = "teamlead_1",
       groups = {"taskadmin"})
@@ -0,0 +1,39 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.camunda.outbox.rest;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class wraps a list of CamundaTaskOperationResults in a seperate object. This is needed to
+ * make the REST-API work with Jersey
+ */
+public class CamundaTaskOperationResultListResource implements Serializable {
+
+  private List<CamundaTaskOperationResult> results;
+
+  public List<CamundaTaskOperationResult> getResults() {
+    return results;
+  }
+
+  public void setResults(List<CamundaTaskOperationResult> results) {
+    this.results = results;
+  }
+}
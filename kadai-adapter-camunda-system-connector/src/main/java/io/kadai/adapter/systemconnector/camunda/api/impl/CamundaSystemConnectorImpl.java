@@ -37,6 +37,10 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
   static final String URL_CAMUNDA_EVENT_DECREASE_REMAINING_RETRIES =
       "/events/%d/decrease-remaining-retries";
   static final String URL_CAMUNDA_UNLOCK_EVENT = "/events/unlock-event/%d";
+  static final String URL_OUTBOX_COMPLETE_TASK = "/tasks/%s/complete";
+  static final String URL_OUTBOX_COMPLETE_TASKS = "/tasks/complete";
+  static final String URL_OUTBOX_CLAIM_TASKS = "/tasks/claim";
+  static final String URL_OUTBOX_CANCEL_CLAIM_TASKS = "/tasks/unclaim";
   static final String BODY_SET_CAMUNDA_VARIABLES = "{\"variables\":{";
   static final String LOCAL_VARIABLE_PATH = "/localVariables";
   static final String EMPTY_REQUEST_BODY = "{}";
@@ -56,6 +60,8 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
 
   private CamundaTaskClaimCanceler taskClaimCanceler;
 
+  private CamundaTaskOperationsRequester taskOperationsRequester;
+
   private CamundaTaskEventCleaner taskEventCleaner;
 
   private CamundaTaskEventErrorHandler taskEventErrorHandler;
@@ -68,6 +74,8 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
     taskCompleter = AdapterSpringContextProvider.getBean(CamundaTaskCompleter.class);
     taskClaimer = AdapterSpringContextProvider.getBean(CamundaTaskClaimer.class);
     taskClaimCanceler = AdapterSpringContextProvider.getBean(CamundaTaskClaimCanceler.class);
+    taskOperationsRequester =
+        AdapterSpringContextProvider.getBean(CamundaTaskOperationsRequester.class);
     taskEventCleaner = AdapterSpringContextProvider.getBean(CamundaTaskEventCleaner.class);
     taskEventErrorHandler =
         AdapterSpringContextProvider.getBean(CamundaTaskEventErrorHandler.class);
@@ -123,6 +131,30 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
     return taskClaimCanceler.cancelClaimOfCamundaTask(camundaSystemUrl, camundaTask);
   }
 
+  @Override
+  public List<SystemResponse> completeReferencedTasks(List<ReferencedTask> camundaTasks) {
+    if (taskOperationsRequester.isBulkRequestsEnabled()) {
+      return taskOperationsRequester.completeCamundaTasks(camundaSystemUrl, camundaTasks);
+    }
+    return SystemConnector.super.completeReferencedTasks(camundaTasks);
+  }
+
+  @Override
+  public List<SystemResponse> claimReferencedTasks(List<ReferencedTask> camundaTasks) {
+    if (taskOperationsRequester.isBulkRequestsEnabled()) {
+      return taskClaimer.claimCamundaTasks(camundaSystemUrl, camundaTasks);
+    }
+    return SystemConnector.super.claimReferencedTasks(camundaTasks);
+  }
+
+  @Override
+  public List<SystemResponse> cancelClaimReferencedTasks(List<ReferencedTask> camundaTasks) {
+    if (taskOperationsRequester.isBulkRequestsEnabled()) {
+      return taskClaimCanceler.cancelClaimOfCamundaTasks(camundaSystemUrl, camundaTasks);
+    }
+    return SystemConnector.super.cancelClaimReferencedTasks(camundaTasks);
+  }
+
   @Override
   public String getSystemUrl() {
     return camundaSystemUrl.getSystemRestUrl();
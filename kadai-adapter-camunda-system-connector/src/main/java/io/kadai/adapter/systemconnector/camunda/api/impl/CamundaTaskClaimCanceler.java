@@ -21,6 +21,8 @@ package io.kadai.adapter.systemconnector.camunda.api.impl;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
 import io.kadai.adapter.systemconnector.api.SystemResponse;
 import io.kadai.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +45,7 @@ public class CamundaTaskClaimCanceler {
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskClaimCanceler.class);
   @Autowired HttpHeaderProvider httpHeaderProvider;
   @Autowired private RestTemplate restTemplate;
+  @Autowired private CamundaTaskOperationsRequester taskOperationsRequester;
 
   @Value("${kadai.adapter.camunda.claiming.enabled:false}")
   private boolean claimingEnabled;
@@ -97,4 +100,17 @@ public class CamundaTaskClaimCanceler {
 
     return new SystemResponse(HttpStatus.OK, null);
   }
+
+  public List<SystemResponse> cancelClaimOfCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+
+    if (claimingEnabled) {
+      return taskOperationsRequester.cancelClaimOfCamundaTasks(
+          camundaSystemUrlInfo, referencedTasks);
+    }
+
+    return referencedTasks.stream()
+        .map(referencedTask -> new SystemResponse(HttpStatus.OK, null))
+        .collect(Collectors.toList());
+  }
 }
@@ -25,6 +25,7 @@ import io.kadai.common.api.exceptions.SystemException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -32,7 +33,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
-/** Completes Camunda Tasks via the Camunda REST Api. */
+/**
+ * Completes Camunda Tasks via the Camunda REST Api. If completion via the outbox is enabled, the
+ * task is completed with a single request to the outbox REST service instead.
+ */
 public class CamundaTaskCompleter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskCompleter.class);
@@ -41,11 +45,18 @@ public class CamundaTaskCompleter {
   @Autowired HttpHeaderProvider httpHeaderProvider;
   @Autowired private RestTemplate restTemplate;
 
+  @Value("${kadai.adapter.camunda.completion.via.outbox.enabled:false}")
+  private boolean completionViaOutboxEnabled;
+
   public SystemResponse completeCamundaTask(
       CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, ReferencedTask referencedTask) {
 
     StringBuilder requestUrlBuilder = new StringBuilder();
     try {
+      if (completionViaOutboxEnabled) {
+        return performCompletionViaOutbox(camundaSystemUrlInfo, referencedTask);
+      }
+
       setAssigneeToOwnerOfReferencedTask(camundaSystemUrlInfo, referencedTask, requestUrlBuilder);
       setCompletionByKadaiAdapterAsLocalVariable(
           camundaSystemUrlInfo, referencedTask, requestUrlBuilder);
@@ -159,6 +170,35 @@ public class CamundaTaskCompleter {
     }
   }
 
+  private SystemResponse performCompletionViaOutbox(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, ReferencedTask camundaTask) {
+
+    String requestUrl =
+        camundaSystemUrlInfo.getSystemTaskEventUrl()
+            + String.format(
+                CamundaSystemConnectorImpl.URL_OUTBOX_COMPLETE_TASK, camundaTask.getId());
+
+    String assignee =
+        camundaTask.getAssignee() == null ? "null" : "\"" + camundaTask.getAssignee() + "\"";
+    String variables = camundaTask.getVariables() == null ? "" : camundaTask.getVariables();
+    String requestBody = "{\"assignee\":" + assignee + ",\"variables\":{" + variables + "}}";
+
+    LOGGER.debug(
+        "completing camunda task {} via outbox with request body {}",
+        camundaTask.getId(),
+        requestBody);
+
+    HttpEntity<String> entity = httpHeaderProvider.prepareNewEntityForOutboxRestApi(requestBody);
+    ResponseEntity<String> responseEntity =
+        restTemplate.postForEntity(requestUrl, entity, String.class);
+    LOGGER.debug(
+        "completed camunda task {} via outbox. Status code = {}",
+        camundaTask.getId(),
+        responseEntity.getStatusCode());
+
+    return new SystemResponse(responseEntity.getStatusCode(), null);
+  }
+
   private String prepareRequestBody(ReferencedTask camundaTask) {
 
     String requestBody;
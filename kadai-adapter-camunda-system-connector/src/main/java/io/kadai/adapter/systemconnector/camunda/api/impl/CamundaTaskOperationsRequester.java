@@ -0,0 +1,167 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.systemconnector.camunda.api.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.kadai.adapter.camunda.outbox.rest.CamundaTaskOperationResult;
+import io.kadai.adapter.camunda.outbox.rest.CamundaTaskOperationResultListResource;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemResponse;
+import io.kadai.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import io.kadai.common.api.exceptions.SystemException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Completes, claims and cancels claims of a list of Camunda tasks with a single request to the
+ * outbox REST service.
+ */
+public class CamundaTaskOperationsRequester {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(CamundaTaskOperationsRequester.class);
+
+  @Autowired HttpHeaderProvider httpHeaderProvider;
+  @Autowired private RestTemplate restTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${kadai.adapter.camunda.bulk.requests.enabled:false}")
+  private boolean bulkRequestsEnabled;
+
+  public boolean isBulkRequestsEnabled() {
+    return bulkRequestsEnabled;
+  }
+
+  public List<SystemResponse> completeCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+    return performTaskOperations(
+        camundaSystemUrlInfo,
+        CamundaSystemConnectorImpl.URL_OUTBOX_COMPLETE_TASKS,
+        referencedTasks,
+        true,
+        true);
+  }
+
+  public List<SystemResponse> claimCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+    return performTaskOperations(
+        camundaSystemUrlInfo,
+        CamundaSystemConnectorImpl.URL_OUTBOX_CLAIM_TASKS,
+        referencedTasks,
+        true,
+        false);
+  }
+
+  public List<SystemResponse> cancelClaimOfCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+    return performTaskOperations(
+        camundaSystemUrlInfo,
+        CamundaSystemConnectorImpl.URL_OUTBOX_CANCEL_CLAIM_TASKS,
+        referencedTasks,
+        false,
+        false);
+  }
+
+  private List<SystemResponse> performTaskOperations(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo,
+      String operationUrl,
+      List<ReferencedTask> referencedTasks,
+      boolean withAssignee,
+      boolean withVariables) {
+
+    SystemResponse[] responses = new SystemResponse[referencedTasks.size()];
+    List<Integer> requestedPositions = new ArrayList<>();
+    ArrayNode requestBody = objectMapper.createArrayNode();
+
+    for (int i = 0; i < referencedTasks.size(); i++) {
+      ReferencedTask referencedTask = referencedTasks.get(i);
+      try {
+        ObjectNode operation = requestBody.objectNode().put("taskId", referencedTask.getId());
+        if (withAssignee) {
+          operation.put("assignee", referencedTask.getAssignee());
+        }
+        if (withVariables && referencedTask.getVariables() != null) {
+          JsonNode variables = objectMapper.readTree("{" + referencedTask.getVariables() + "}");
+          operation.set("variables", variables);
+        }
+        requestBody.add(operation);
+        requestedPositions.add(i);
+      } catch (Exception e) {
+        responses[i] = new SystemResponse(HttpStatus.BAD_REQUEST, e);
+      }
+    }
+
+    if (!requestedPositions.isEmpty()) {
+      String requestUrl = camundaSystemUrlInfo.getSystemTaskEventUrl() + operationUrl;
+      HttpEntity<String> requestEntity =
+          httpHeaderProvider.prepareNewEntityForOutboxRestApi(requestBody.toString());
+      ResponseEntity<CamundaTaskOperationResultListResource> responseEntity =
+          restTemplate.postForEntity(
+              requestUrl, requestEntity, CamundaTaskOperationResultListResource.class);
+      LOGGER.debug(
+          "performed {} for {} camunda tasks. Status code = {}",
+          operationUrl,
+          requestedPositions.size(),
+          responseEntity.getStatusCode());
+
+      Map<String, CamundaTaskOperationResult> resultsByTaskId = new HashMap<>();
+      if (responseEntity.getBody() != null && responseEntity.getBody().getResults() != null) {
+        for (CamundaTaskOperationResult result : responseEntity.getBody().getResults()) {
+          resultsByTaskId.put(result.getTaskId(), result);
+        }
+      }
+      for (int position : requestedPositions) {
+        String taskId = referencedTasks.get(position).getId();
+        responses[position] = toSystemResponse(taskId, resultsByTaskId.get(taskId));
+      }
+    }
+
+    return Arrays.asList(responses);
+  }
+
+  private SystemResponse toSystemResponse(String taskId, CamundaTaskOperationResult result) {
+    if (result == null) {
+      return new SystemResponse(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          new SystemException(
+              String.format("The outbox REST service returned no result for task %s", taskId)));
+    }
+    if (result.getStatus() == HttpStatus.NOT_FOUND.value()) {
+      LOGGER.debug("Camunda Task {} is not existing. Returning silently", result.getTaskId());
+      return new SystemResponse(HttpStatus.OK, null);
+    }
+    return new SystemResponse(
+        result.getStatus(),
+        result.getMessage() == null ? null : new SystemException(result.getMessage()));
+  }
+}
@@ -18,24 +18,32 @@
 
 package io.kadai.adapter.systemconnector.camunda.api.impl;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.kadai.adapter.camunda.outbox.rest.CamundaTaskEvent;
 import io.kadai.adapter.camunda.outbox.rest.CamundaTaskEventListResource;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 /** Retrieves new tasks from camunda that have been started or finished by camunda. */
@@ -43,11 +51,29 @@ import org.springframework.web.client.RestTemplate;
 public class CamundaTaskRetriever {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskRetriever.class);
+  private static final String WAIT_FOR = "wait-for";
 
   @Autowired private HttpHeaderProvider httpHeaderProvider;
   @Autowired private ObjectMapper objectMapper;
   @Autowired private RestTemplate restTemplate;
 
+  @Value("${kadai.adapter.events.longPollTimeout:0}")
+  private long longPollTimeout;
+
+  private ObjectReader referencedTaskReader;
+
+  // outbox URLs that rejected the wait-for param, because their outbox doesn't support long polls
+  private final Set<String> outboxUrlsWithoutLongPolling = ConcurrentHashMap.newKeySet();
+
+  @PostConstruct
+  void initReferencedTaskReader() {
+    referencedTaskReader =
+        objectMapper
+            .copy()
+            .addMixIn(ReferencedTask.class, ReferencedTaskPayloadMixIn.class)
+            .readerFor(ReferencedTask.class);
+  }
+
   public List<ReferencedTask> retrieveNewStartedCamundaTasks(
       String camundaSystemTaskEventUrl,
       String camundaSystemEngineIdentifier,
@@ -93,7 +119,11 @@ public class CamundaTaskRetriever {
       String camundaSystemTaskEventUrl, String eventSelector, Duration lockDuration) {
 
     String durationParameter = lockDuration == null ? "" : "&lock-for=" + lockDuration.toSeconds();
-    String requestUrl = camundaSystemTaskEventUrl + eventSelector + durationParameter;
+    boolean longPolling =
+        longPollTimeout > 0 && !outboxUrlsWithoutLongPolling.contains(camundaSystemTaskEventUrl);
+    String waitParameter = longPolling ? "&" + WAIT_FOR + "=" + longPollTimeout : "";
+    String requestUrl =
+        camundaSystemTaskEventUrl + eventSelector + durationParameter + waitParameter;
 
     HttpHeaders headers = httpHeaderProvider.getHttpHeadersForOutboxRestApi();
     LOGGER.debug(
@@ -121,6 +151,21 @@ public class CamundaTaskRetriever {
 
       return retrievedEvents;
 
+    } catch (HttpClientErrorException.BadRequest e) {
+      // only an outbox that names the wait-for param in its error doesn't support long polls
+      if (!longPolling || !e.getResponseBodyAsString().contains(WAIT_FOR)) {
+        LOGGER.error(
+            "Caught exception while trying to retrieve CamundaTaskEvents from system with URL "
+                + camundaSystemTaskEventUrl,
+            e);
+        return Collections.emptyList();
+      }
+      LOGGER.info(
+          "Outbox with URL {} does not support long polling, falling back to regular polling",
+          camundaSystemTaskEventUrl);
+      outboxUrlsWithoutLongPolling.add(camundaSystemTaskEventUrl);
+      return getCamundaTaskEvents(camundaSystemTaskEventUrl, eventSelector, lockDuration);
+
     } catch (Exception e) {
       LOGGER.error(
           "Caught exception while trying to retrieve CamundaTaskEvents from system with URL "
@@ -145,8 +190,7 @@ public class CamundaTaskRetriever {
 
         try {
 
-          ReferencedTask referencedTask =
-              objectMapper.readValue(referencedTaskJson, ReferencedTask.class);
+          ReferencedTask referencedTask = readReferencedTask(referencedTaskJson);
           referencedTask.setOutboxEventId(String.valueOf(camundaTaskEvent.getId()));
           referencedTask.setOutboxEventType(String.valueOf(camundaTaskEvent.getType()));
           referencedTasks.add(referencedTask);
@@ -166,4 +210,23 @@ public class CamundaTaskRetriever {
     }
     return referencedTasks;
   }
+
+  /**
+   * Reads the payload of an event in a single pass. The variables of newer payloads are decoded by
+   * the {@link ReferencedTaskVariablesDeserializer} on the way.
+   *
+   * @param referencedTaskJson the payload of the event
+   * @return the task described by the payload
+   * @throws IOException if the payload is no valid JSON
+   */
+  private ReferencedTask readReferencedTask(String referencedTaskJson) throws IOException {
+    return referencedTaskReader.readValue(referencedTaskJson);
+  }
+
+  @JsonIgnoreProperties({"payloadVersion"})
+  private abstract static class ReferencedTaskPayloadMixIn {
+
+    @JsonDeserialize(using = ReferencedTaskVariablesDeserializer.class)
+    abstract void setVariables(String variables);
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.adapter.systemconnector.camunda.api.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the variables of an event payload while the payload is deserialized into a {@link
+ * ReferencedTask}. Payloads from older listeners carry the process variables as a JSON string,
+ * which is taken as it is. Newer ones carry them as a nested JSON object. Each of its variables is
+ * read once and also set on the task keyed by its name, so that the variables do not have to be
+ * parsed again when the KADAI task is created.
+ */
+class ReferencedTaskVariablesDeserializer extends StdDeserializer<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  ReferencedTaskVariablesDeserializer() {
+    super(String.class);
+  }
+
+  @Override
+  public String deserialize(JsonParser parser, DeserializationContext context)
+      throws IOException {
+
+    if (!parser.isExpectedStartObjectToken()) {
+      return parser.getValueAsString();
+    }
+    // the task being deserialized is the current value of the enclosing object
+    Object referencedTask = parser.getParsingContext().getParent().getCurrentValue();
+
+    Map<String, String> variablesByName = new LinkedHashMap<>();
+    StringWriter variables = new StringWriter();
+    try (JsonGenerator generator = parser.getCodec().getFactory().createGenerator(variables)) {
+      generator.writeStartObject();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        JsonNode value = parser.readValueAsTree();
+        String valueJson = value.toString();
+        variablesByName.put(name, value.isTextual() ? value.asText() : valueJson);
+        generator.writeFieldName(name);
+        generator.writeRawValue(valueJson);
+      }
+      generator.writeEndObject();
+    }
+
+    if (referencedTask instanceof ReferencedTask) {
+      ((ReferencedTask) referencedTask).setVariablesByName(variablesByName);
+    }
+    return variables.toString();
+  }
+}
@@ -22,6 +22,7 @@ import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskClaimCancele
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskClaimer;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskEventCleaner;
+import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskOperationsRequester;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskRetriever;
 import io.kadai.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 import java.time.Duration;
@@ -92,6 +93,11 @@ public class CamundaSystemConnectorConfiguration {
     return new CamundaTaskClaimCanceler();
   }
 
+  @Bean
+  CamundaTaskOperationsRequester camundaTaskOperationsRequester() {
+    return new CamundaTaskOperationsRequester();
+  }
+
   @Bean
   CamundaTaskEventCleaner camundaTaskEventCleaner() {
     return new CamundaTaskEventCleaner();
@@ -0,0 +1,150 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.camunda.camundasystemconnector.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemResponse;
+import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskOperationsRequester;
+import io.kadai.adapter.systemconnector.camunda.config.CamundaSystemUrls.SystemUrlInfo;
+import io.kadai.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/** Acceptance test for the bulk task operations of the Camunda System Connector. */
+@ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
+@SpringBootTest
+class CamundaTaskOperationsAccTest {
+
+  private static final String OUTBOX_URL = "http://localhost:8080/outbox-rest";
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired CamundaTaskOperationsRequester taskOperationsRequester;
+
+  private MockRestServiceServer mockServer;
+  private SystemUrlInfo systemUrlInfo;
+
+  @BeforeEach
+  void setUp() {
+    mockServer = MockRestServiceServer.createServer(restTemplate);
+    systemUrlInfo = new SystemUrlInfo();
+    systemUrlInfo.setSystemTaskEventUrl(OUTBOX_URL);
+  }
+
+  @Test
+  void should_MatchResultsByTaskId_When_OutboxReturnsResultsInAnotherOrder() {
+    mockServer
+        .expect(requestTo(OUTBOX_URL + "/tasks/complete"))
+        .andExpect(method(HttpMethod.POST))
+        .andExpect(
+            content()
+                .json(
+                    "[{\"taskId\":\"1\",\"assignee\":\"user_1\"},"
+                        + "{\"taskId\":\"2\",\"assignee\":\"user_2\"},"
+                        + "{\"taskId\":\"3\",\"assignee\":\"user_3\"}]"))
+        .andRespond(
+            withSuccess(
+                "{\"results\":["
+                    + "{\"taskId\":\"3\",\"status\":500,\"message\":\"task 3 failed\"},"
+                    + "{\"taskId\":\"1\",\"status\":204,\"message\":null},"
+                    + "{\"taskId\":\"2\",\"status\":404,\"message\":\"task 2 not found\"}]}",
+                MediaType.APPLICATION_JSON));
+
+    List<SystemResponse> responses =
+        taskOperationsRequester.completeCamundaTasks(
+            systemUrlInfo,
+            Arrays.asList(
+                referencedTask("1", "user_1"),
+                referencedTask("2", "user_2"),
+                referencedTask("3", "user_3")));
+
+    mockServer.verify();
+    assertThat(responses)
+        .extracting(SystemResponse::getStatusCode)
+        .containsExactly(HttpStatus.NO_CONTENT, HttpStatus.OK, HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(responses.get(2).getThrowable()).hasMessage("task 3 failed");
+  }
+
+  @Test
+  void should_FailTaskWithoutResult_When_OutboxOmitsTheTask() {
+    mockServer
+        .expect(requestTo(OUTBOX_URL + "/tasks/claim"))
+        .andExpect(method(HttpMethod.POST))
+        .andRespond(
+            withSuccess(
+                "{\"results\":[{\"taskId\":\"2\",\"status\":204,\"message\":null}]}",
+                MediaType.APPLICATION_JSON));
+
+    List<SystemResponse> responses =
+        taskOperationsRequester.claimCamundaTasks(
+            systemUrlInfo,
+            Arrays.asList(referencedTask("1", "user_1"), referencedTask("2", "user_2")));
+
+    mockServer.verify();
+    assertThat(responses)
+        .extracting(SystemResponse::getStatusCode)
+        .containsExactly(HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.NO_CONTENT);
+    assertThat(responses.get(0).getThrowable()).hasMessageContaining("task 1");
+  }
+
+  @Test
+  void should_SendOnlyTaskIds_When_CancellingClaims() {
+    mockServer
+        .expect(requestTo(OUTBOX_URL + "/tasks/unclaim"))
+        .andExpect(method(HttpMethod.POST))
+        .andExpect(content().json("[{\"taskId\":\"1\"}]", true))
+        .andRespond(
+            withSuccess(
+                "{\"results\":[{\"taskId\":\"1\",\"status\":204,\"message\":null}]}",
+                MediaType.APPLICATION_JSON));
+
+    List<SystemResponse> responses =
+        taskOperationsRequester.cancelClaimOfCamundaTasks(
+            systemUrlInfo, Arrays.asList(referencedTask("1", "user_1")));
+
+    mockServer.verify();
+    assertThat(responses)
+        .extracting(SystemResponse::getStatusCode)
+        .containsExactly(HttpStatus.NO_CONTENT);
+  }
+
+  private static ReferencedTask referencedTask(String id, String assignee) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setAssignee(assignee);
+    return referencedTask;
+  }
+}
@@ -19,6 +19,7 @@
 package io.kadai.camunda.camundasystemconnector.acceptance;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
@@ -145,6 +146,75 @@ class RetrieveCamundaTaskAccTest {
     assertThat(actualResult.get(0)).isEqualTo(expectedTask);
   }
 
+  @Test
+  void should_DecodeNestedVariables_When_PayloadVersionIsTwo() {
+
+    String expectedReplyBody =
+        "{"
+            + "\"camundaTaskEvents\":"
+            + "[{"
+            + "  \"id\": 2,"
+            + "  \"type\": \"create\","
+            + "  \"systemEngineIdentifier\": \"default\","
+            + "  \"created\": \"1970-01-01T10:48:16.436+0100\","
+            + "  \"payload\": "
+            + "  \"{\\\"payloadVersion\\\":2,"
+            + "     \\\"id\\\":\\\"801aca2e-1b25-11e9-b283-94819a5b525c\\\","
+            + "     \\\"variables\\\":{\\\"amount\\\":"
+            + "{\\\"type\\\":\\\"integer\\\",\\\"value\\\":5,"
+            + "\\\"valueInfo\\\":null}}}\""
+            + "}]"
+            + "}";
+
+    String camundaSystemUrl = "http://localhost:8080/";
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(expectedReplyBody, MediaType.APPLICATION_JSON));
+
+    List<ReferencedTask> actualResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(camundaSystemUrl, "default", null);
+
+    assertThat(actualResult).hasSize(1);
+    assertThat(actualResult.get(0).getId()).isEqualTo("801aca2e-1b25-11e9-b283-94819a5b525c");
+    assertThat(actualResult.get(0).getVariables())
+        .isEqualTo("{\"amount\":{\"type\":\"integer\",\"value\":5,\"valueInfo\":null}}");
+    assertThat(actualResult.get(0).getVariablesByName())
+        .containsExactly(
+            entry("amount", "{\"type\":\"integer\",\"value\":5,\"valueInfo\":null}"));
+  }
+
+  @Test
+  void should_KeepVariablesAsTheyAre_When_PayloadCarriesVariablesAsString() {
+
+    String expectedReplyBody =
+        "{"
+            + "\"camundaTaskEvents\":"
+            + "[{"
+            + "  \"id\": 3,"
+            + "  \"type\": \"create\","
+            + "  \"systemEngineIdentifier\": \"default\","
+            + "  \"created\": \"1970-01-01T10:48:16.436+0100\","
+            + "  \"payload\": "
+            + "  \"{\\\"id\\\":\\\"801aca2e-1b25-11e9-b283-94819a5b525c\\\","
+            + "     \\\"variables\\\":\\\"{\\\\\\\"amount\\\\\\\":5}\\\"}\""
+            + "}]"
+            + "}";
+
+    String camundaSystemUrl = "http://localhost:8080/";
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(expectedReplyBody, MediaType.APPLICATION_JSON));
+
+    List<ReferencedTask> actualResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(camundaSystemUrl, "default", null);
+
+    assertThat(actualResult).hasSize(1);
+    assertThat(actualResult.get(0).getVariables()).isEqualTo("{\"amount\":5}");
+    assertThat(actualResult.get(0).getVariablesByName()).isNull();
+  }
+
   @Test
   void should_GetFinishedCamundaTask() {
 
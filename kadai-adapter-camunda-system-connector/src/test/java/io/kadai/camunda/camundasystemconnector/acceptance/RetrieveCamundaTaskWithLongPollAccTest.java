@@ -0,0 +1,123 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.camunda.camundasystemconnector.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskRetriever;
+import io.kadai.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/** Acceptance test for the long polling of the Camunda System Connector. */
+@ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
+@SpringBootTest(properties = "kadai.adapter.events.longPollTimeout=10")
+class RetrieveCamundaTaskWithLongPollAccTest {
+
+  private static final String EVENT_REPLY_BODY =
+      "{\"camundaTaskEvents\":[{"
+          + "\"id\": 1,"
+          + "\"type\": \"create\","
+          + "\"systemEngineIdentifier\": \"default\","
+          + "\"created\": \"1970-01-01T10:48:16.436+0100\","
+          + "\"payload\": \"{\\\"id\\\":\\\"801aca2e-1b25-11e9-b283-94819a5b525c\\\"}\""
+          + "}]}";
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired CamundaTaskRetriever taskRetriever;
+
+  private MockRestServiceServer mockServer;
+
+  @BeforeEach
+  void setUp() {
+    mockServer = MockRestServiceServer.createServer(restTemplate);
+  }
+
+  @Test
+  void should_FallBackToRegularPolling_When_OutboxRejectsWaitForParam() {
+    String camundaSystemUrl = "http://outbox-without-long-polling:8080/";
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create&wait-for=10"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(
+            withBadRequest()
+                .body(
+                    "io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentException: "
+                        + "Provided invalid request params: [wait-for]"));
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(EVENT_REPLY_BODY, MediaType.APPLICATION_JSON));
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(EVENT_REPLY_BODY, MediaType.APPLICATION_JSON));
+
+    List<ReferencedTask> firstResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(camundaSystemUrl, "default", null);
+    List<ReferencedTask> secondResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(camundaSystemUrl, "default", null);
+
+    mockServer.verify();
+    assertThat(firstResult).extracting(ReferencedTask::getOutboxEventId).containsExactly("1");
+    assertThat(secondResult).extracting(ReferencedTask::getOutboxEventId).containsExactly("1");
+  }
+
+  @Test
+  void should_KeepLongPolling_When_OutboxRejectsAnotherParam() {
+    String camundaSystemUrl = "http://outbox-with-long-polling:8080/";
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create&lock-for=30&wait-for=10"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(
+            withBadRequest()
+                .body(
+                    "io.kadai.adapter.camunda.outbox.rest.exception.InvalidArgumentException: "
+                        + "Provided invalid request params: [lock-for]"));
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "events?type=create&wait-for=10"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(EVENT_REPLY_BODY, MediaType.APPLICATION_JSON));
+
+    List<ReferencedTask> firstResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(
+            camundaSystemUrl, "default", Duration.ofSeconds(30));
+    List<ReferencedTask> secondResult =
+        taskRetriever.retrieveNewStartedCamundaTasks(camundaSystemUrl, "default", null);
+
+    mockServer.verify();
+    assertThat(firstResult).isEmpty();
+    assertThat(secondResult).extracting(ReferencedTask::getOutboxEventId).containsExactly("1");
+  }
+}
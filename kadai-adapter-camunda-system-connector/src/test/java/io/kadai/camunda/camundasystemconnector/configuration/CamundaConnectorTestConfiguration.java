@@ -20,6 +20,7 @@ package io.kadai.camunda.camundasystemconnector.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
+import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskOperationsRequester;
 import io.kadai.adapter.systemconnector.camunda.api.impl.CamundaTaskRetriever;
 import io.kadai.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 import io.kadai.adapter.systemconnector.camunda.config.HttpComponentsClientProperties;
@@ -75,4 +76,9 @@ public class CamundaConnectorTestConfiguration {
   CamundaTaskCompleter camundaTaskCompleter() {
     return new CamundaTaskCompleter();
   }
+
+  @Bean
+  CamundaTaskOperationsRequester camundaTaskOperationsRequester() {
+    return new CamundaTaskOperationsRequester();
+  }
 }
@@ -23,6 +23,7 @@ import io.kadai.adapter.exceptions.TaskCreationFailedException;
 import io.kadai.adapter.exceptions.TaskTerminationFailedException;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.common.api.BulkOperationResults;
 import io.kadai.common.api.KadaiEngine;
 import io.kadai.common.api.exceptions.KadaiException;
 import io.kadai.common.api.exceptions.NotAuthorizedException;
@@ -31,6 +32,7 @@ import io.kadai.task.api.TaskService;
 import io.kadai.task.api.TaskState;
 import io.kadai.task.api.exceptions.InvalidOwnerException;
 import io.kadai.task.api.exceptions.InvalidTaskStateException;
+import io.kadai.task.api.exceptions.TaskAlreadyExistException;
 import io.kadai.task.api.exceptions.TaskNotFoundException;
 import io.kadai.task.api.models.Task;
 import io.kadai.task.api.models.TaskSummary;
@@ -45,6 +47,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /** Implements KadaiConnector. */
 @Component
@@ -63,6 +70,8 @@ public class KadaiSystemConnectorImpl implements KadaiConnector {
   @Autowired private TaskInformationMapper taskInformationMapper;
 
   @Autowired private DataSource kadaiDataSource;
+
+  @Autowired private PlatformTransactionManager transactionManager;
   Integer batchSize = AdapterSpringContextProvider.getBean(Integer.class);
 
   public List<ReferencedTask> retrieveFinishedKadaiTasksAsReferencedTasks() {
@@ -140,12 +149,53 @@ public class KadaiSystemConnectorImpl implements KadaiConnector {
   public void createKadaiTask(Task kadaiTask) throws TaskCreationFailedException {
     try {
       taskService.createTask(kadaiTask);
+    } catch (TaskAlreadyExistException e) {
+      LOGGER.debug("Kadai task with external id {} already exists", kadaiTask.getExternalId());
+      throw new TaskCreationFailedException(kadaiTask.getExternalId(), e);
     } catch (KadaiException e) {
       LOGGER.error("Caught Exception {} when creating kadai task {} ", e, kadaiTask);
       throw new TaskCreationFailedException(kadaiTask.getExternalId(), e);
     }
   }
 
+  @Override
+  public BulkOperationResults<String, TaskCreationFailedException> createKadaiTasks(
+      List<Task> kadaiTasks) {
+    BulkOperationResults<String, TaskCreationFailedException> result =
+        new BulkOperationResults<>();
+    if (kadaiTasks.isEmpty()) {
+      return result;
+    }
+    if (!isNestedTransactionAllowed()) {
+      for (Task kadaiTask : kadaiTasks) {
+        try {
+          createKadaiTask(kadaiTask);
+        } catch (TaskCreationFailedException e) {
+          result.addError(kadaiTask.getExternalId(), e);
+        }
+      }
+      return result;
+    }
+
+    // all tasks are created within one transaction. Each task gets its own savepoint,
+    // so that a failed creation only rolls back this single task.
+    TransactionTemplate taskTransaction = new TransactionTemplate(transactionManager);
+    taskTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              for (Task kadaiTask : kadaiTasks) {
+                TaskCreationFailedException failure =
+                    taskTransaction.execute(
+                        taskStatus -> createKadaiTaskInTransaction(kadaiTask, taskStatus));
+                if (failure != null) {
+                  result.addError(kadaiTask.getExternalId(), failure);
+                }
+              }
+            });
+    return result;
+  }
+
   @Override
   public Task convertToKadaiTask(ReferencedTask camundaTask) {
     return taskInformationMapper.convertToKadaiTask(camundaTask);
@@ -196,6 +246,27 @@ public class KadaiSystemConnectorImpl implements KadaiConnector {
     }
   }
 
+  private TaskCreationFailedException createKadaiTaskInTransaction(
+      Task kadaiTask, TransactionStatus status) {
+    try {
+      taskService.createTask(kadaiTask);
+      return null;
+    } catch (TaskAlreadyExistException e) {
+      LOGGER.debug("Kadai task with external id {} already exists", kadaiTask.getExternalId());
+      status.setRollbackOnly();
+      return new TaskCreationFailedException(kadaiTask.getExternalId(), e);
+    } catch (KadaiException | RuntimeException e) {
+      LOGGER.error("Caught Exception {} when creating kadai task {} ", e, kadaiTask);
+      status.setRollbackOnly();
+      return new TaskCreationFailedException(kadaiTask.getExternalId(), e);
+    }
+  }
+
+  private boolean isNestedTransactionAllowed() {
+    return transactionManager instanceof AbstractPlatformTransactionManager
+        && ((AbstractPlatformTransactionManager) transactionManager).isNestedTransactionAllowed();
+  }
+
   private List<ReferencedTask> retrieveKadaiTasksAndConvertToReferencedTasks(
       List<TaskSummary> requestedTasks) {
 
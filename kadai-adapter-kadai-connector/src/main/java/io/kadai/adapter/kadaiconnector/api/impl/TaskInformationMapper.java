@@ -86,8 +86,18 @@ public class TaskInformationMapper {
     kadaiTask.setCallbackInfo(callbackInfo);
     kadaiTask.setExternalId(referencedTask.getId());
 
-    Map<String, String> customAttributes =
-        retrieveCustomAttributesFromProcessVariables(referencedTask.getVariables());
+    Map<String, String> customAttributes;
+    if (referencedTask.getVariablesByName() != null) {
+      customAttributes = new HashMap<>();
+      referencedTask
+          .getVariablesByName()
+          .forEach(
+              (name, variable) ->
+                  customAttributes.put(CAMUNDA_PROCESS_VARIABLE_PREFIX + name, variable));
+    } else {
+      customAttributes =
+          retrieveCustomAttributesFromProcessVariables(referencedTask.getVariables());
+    }
     kadaiTask.setCustomAttributes(customAttributes);
 
     if (referencedTask.getName() != null && !referencedTask.getName().isEmpty()) {
@@ -0,0 +1,135 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+
+package io.kadai.adapter.kadaiconnector.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.kadai.adapter.configuration.AdapterSpringContextProvider;
+import io.kadai.adapter.exceptions.TaskCreationFailedException;
+import io.kadai.common.api.BulkOperationResults;
+import io.kadai.common.api.exceptions.InvalidArgumentException;
+import io.kadai.task.api.TaskService;
+import io.kadai.task.api.exceptions.TaskAlreadyExistException;
+import io.kadai.task.api.models.Task;
+import java.util.Arrays;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class KadaiSystemConnectorImplTest {
+
+  private static final String FAILING_TASK = "failing";
+  private static final String EXISTING_TASK = "existing";
+
+  private final TaskService taskService = mock(TaskService.class);
+  private JdbcTemplate jdbcTemplate;
+  private DataSourceTransactionManager transactionManager;
+  private KadaiSystemConnectorImpl kadaiConnector;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    GenericApplicationContext context = new GenericApplicationContext();
+    context.registerBean(Integer.class, () -> 10);
+    context.refresh();
+    new AdapterSpringContextProvider().setApplicationContext(context);
+
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL(
+        "jdbc:h2:mem:" + getClass().getSimpleName() + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table created_task (external_id varchar(40) primary key)");
+    transactionManager = new DataSourceTransactionManager(dataSource);
+
+    // every created task leaves a row behind, so that rolled back creations can be detected
+    when(taskService.createTask(any()))
+        .thenAnswer(
+            invocation -> {
+              Task task = invocation.getArgument(0);
+              if (EXISTING_TASK.equals(task.getExternalId())) {
+                throw new TaskAlreadyExistException(task.getExternalId());
+              }
+              jdbcTemplate.update("insert into created_task values (?)", task.getExternalId());
+              if (FAILING_TASK.equals(task.getExternalId())) {
+                throw new InvalidArgumentException("task " + task.getExternalId() + " is invalid");
+              }
+              return task;
+            });
+
+    kadaiConnector = new KadaiSystemConnectorImpl();
+    ReflectionTestUtils.setField(kadaiConnector, "taskService", taskService);
+    ReflectionTestUtils.setField(kadaiConnector, "transactionManager", transactionManager);
+  }
+
+  @Test
+  void should_CommitOnlySuccessfullyCreatedTasks_When_CreatingTasksInBulk() {
+    BulkOperationResults<String, TaskCreationFailedException> result =
+        kadaiConnector.createKadaiTasks(tasks("1", FAILING_TASK, "3", EXISTING_TASK, "5"));
+
+    assertThat(result.getFailedIds()).containsExactlyInAnyOrder(FAILING_TASK, EXISTING_TASK);
+    assertThat(result.getErrorForId(FAILING_TASK))
+        .hasCauseInstanceOf(InvalidArgumentException.class);
+    assertThat(result.getErrorForId(EXISTING_TASK))
+        .hasCauseInstanceOf(TaskAlreadyExistException.class);
+    assertThat(createdTasks()).containsExactlyInAnyOrder("1", "3", "5");
+  }
+
+  @Test
+  void should_CreateTasksOneByOne_When_NestedTransactionsAreNotAllowed() {
+    transactionManager.setNestedTransactionAllowed(false);
+
+    BulkOperationResults<String, TaskCreationFailedException> result =
+        kadaiConnector.createKadaiTasks(tasks("1", EXISTING_TASK, "3"));
+
+    assertThat(result.getFailedIds()).containsExactly(EXISTING_TASK);
+    assertThat(createdTasks()).containsExactlyInAnyOrder("1", "3");
+  }
+
+  @Test
+  void should_ReturnEmptyResult_When_NoTasksAreGiven() {
+    BulkOperationResults<String, TaskCreationFailedException> result =
+        kadaiConnector.createKadaiTasks(List.of());
+
+    assertThat(result.containsErrors()).isFalse();
+    assertThat(createdTasks()).isEmpty();
+  }
+
+  private List<String> createdTasks() {
+    return jdbcTemplate.queryForList("select external_id from created_task", String.class);
+  }
+
+  private static List<Task> tasks(String... externalIds) {
+    return Arrays.stream(externalIds)
+        .map(
+            externalId -> {
+              Task task = mock(Task.class);
+              when(task.getExternalId()).thenReturn(externalId);
+              return task;
+            })
+        .toList();
+  }
+}
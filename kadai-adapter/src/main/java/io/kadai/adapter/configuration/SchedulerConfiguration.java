@@ -18,23 +18,153 @@
 
 package io.kadai.adapter.configuration;
 
+import java.util.concurrent.ThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
-import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 /**
- * Configures the scheduler. Per default all @scheduled methods share a single thread. To provide a
- * unique thread per @scheduled method, we configure here 10 threads for the @scheduled methods.
+ * Configures the scheduler. Each @scheduled job runs on a scheduler of its own, so that a long
+ * cycle of one job, e.g. a slow completion, does not hold up the other jobs. The pool size of each
+ * scheduler can be configured. Additionally, an executor is provided on which the
+ * KadaiTaskStarter runs one lane per system connector, so that a slow system does not hold up task
+ * creation for the other systems, and an executor on which the ReferencedTaskCompleter completes
+ * referenced tasks concurrently. The pipelined KadaiTaskStarter runs the creation and
+ * acknowledgement stages of its lanes on an executor of its own.
+ *
+ * <p>All threads can be created as virtual threads, which requires Java 21. On an older Java
+ * version the adapter fails to start if this is enabled. The schedulers and executors are pools,
+ * so with Spring Boot Actuator on the classpath their active threads, queued tasks and pool sizes
+ * are reported as executor metrics, tagged with the bean name.
  */
 @Configuration
-public class SchedulerConfiguration implements SchedulingConfigurer {
-
-  @Override
-  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-    ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
-    taskScheduler.setPoolSize(10);
-    taskScheduler.initialize();
-    taskRegistrar.setTaskScheduler(taskScheduler);
+public class SchedulerConfiguration {
+
+  public static final String KADAI_TASK_STARTER_SCHEDULER = "kadaiTaskStarterScheduler";
+
+  public static final String KADAI_TASK_TERMINATOR_SCHEDULER = "kadaiTaskTerminatorScheduler";
+
+  public static final String REFERENCED_TASK_COMPLETER_SCHEDULER =
+      "referencedTaskCompleterScheduler";
+
+  public static final String REFERENCED_TASK_CLAIMER_SCHEDULER = "referencedTaskClaimerScheduler";
+
+  public static final String REFERENCED_TASK_CLAIM_CANCELER_SCHEDULER =
+      "referencedTaskClaimCancelerScheduler";
+
+  public static final String KADAI_TASK_STARTER_EXECUTOR = "kadaiTaskStarterExecutor";
+
+  public static final String KADAI_TASK_STARTER_PIPELINE_EXECUTOR =
+      "kadaiTaskStarterPipelineExecutor";
+
+  public static final String REFERENCED_TASK_COMPLETER_EXECUTOR = "referencedTaskCompleterExecutor";
+
+  @Value("${kadai.adapter.scheduler.pool.size.for.start.kadai.tasks:1}")
+  private int kadaiTaskStarterPoolSize;
+
+  @Value("${kadai.adapter.scheduler.pool.size.for.check.finished.referenced.tasks:1}")
+  private int kadaiTaskTerminatorPoolSize;
+
+  @Value("${kadai.adapter.scheduler.pool.size.for.complete.referenced.tasks:1}")
+  private int referencedTaskCompleterPoolSize;
+
+  @Value("${kadai.adapter.scheduler.pool.size.for.claim.referenced.tasks:1}")
+  private int referencedTaskClaimerPoolSize;
+
+  @Value("${kadai.adapter.scheduler.pool.size.for.cancel.claim.referenced.tasks:1}")
+  private int referencedTaskClaimCancelerPoolSize;
+
+  @Value("${kadai.adapter.scheduler.virtual.threads.enabled:false}")
+  private boolean virtualThreadsEnabled;
+
+  @Value("${kadai.adapter.scheduler.task.starter.parallelism:4}")
+  private int kadaiTaskStarterParallelism;
+
+  @Value("${kadai.adapter.scheduler.task.completer.parallelism:1}")
+  private int referencedTaskCompleterParallelism;
+
+  @Bean(name = KADAI_TASK_STARTER_SCHEDULER)
+  public ThreadPoolTaskScheduler kadaiTaskStarterScheduler() {
+    return createScheduler(kadaiTaskStarterPoolSize, "kadai-task-starter-scheduler-");
+  }
+
+  @Bean(name = KADAI_TASK_TERMINATOR_SCHEDULER)
+  public ThreadPoolTaskScheduler kadaiTaskTerminatorScheduler() {
+    return createScheduler(kadaiTaskTerminatorPoolSize, "kadai-task-terminator-scheduler-");
+  }
+
+  @Bean(name = REFERENCED_TASK_COMPLETER_SCHEDULER)
+  public ThreadPoolTaskScheduler referencedTaskCompleterScheduler() {
+    return createScheduler(
+        referencedTaskCompleterPoolSize, "referenced-task-completer-scheduler-");
+  }
+
+  @Bean(name = REFERENCED_TASK_CLAIMER_SCHEDULER)
+  public ThreadPoolTaskScheduler referencedTaskClaimerScheduler() {
+    return createScheduler(referencedTaskClaimerPoolSize, "referenced-task-claimer-scheduler-");
+  }
+
+  @Bean(name = REFERENCED_TASK_CLAIM_CANCELER_SCHEDULER)
+  public ThreadPoolTaskScheduler referencedTaskClaimCancelerScheduler() {
+    return createScheduler(
+        referencedTaskClaimCancelerPoolSize, "referenced-task-claim-canceler-scheduler-");
+  }
+
+  @Bean(name = KADAI_TASK_STARTER_EXECUTOR)
+  public ThreadPoolTaskExecutor kadaiTaskStarterExecutor() {
+    // a lane is only queued once per system connector, the bound guards against surplus lanes
+    ThreadPoolTaskExecutor executor =
+        createExecutor(kadaiTaskStarterParallelism, "kadai-task-starter-");
+    executor.setQueueCapacity(kadaiTaskStarterParallelism);
+    return executor;
+  }
+
+  @Bean(name = KADAI_TASK_STARTER_PIPELINE_EXECUTOR)
+  public ThreadPoolTaskExecutor kadaiTaskStarterPipelineExecutor() {
+    // every lane runs two stages besides its own thread
+    return createExecutor(2 * kadaiTaskStarterParallelism, "kadai-task-starter-pipeline-");
+  }
+
+  @Bean(name = REFERENCED_TASK_COMPLETER_EXECUTOR)
+  public ThreadPoolTaskExecutor referencedTaskCompleterExecutor() {
+    return createExecutor(
+        Math.max(1, referencedTaskCompleterParallelism), "referenced-task-completer-");
+  }
+
+  private ThreadPoolTaskScheduler createScheduler(int poolSize, String threadNamePrefix) {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(Math.max(1, poolSize));
+    scheduler.setThreadNamePrefix(threadNamePrefix);
+    if (virtualThreadsEnabled) {
+      scheduler.setThreadFactory(createVirtualThreadFactory(threadNamePrefix));
+    }
+    return scheduler;
+  }
+
+  private ThreadPoolTaskExecutor createExecutor(int poolSize, String threadNamePrefix) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    if (virtualThreadsEnabled) {
+      executor.setThreadFactory(createVirtualThreadFactory(threadNamePrefix));
+    }
+    return executor;
+  }
+
+  private static ThreadFactory createVirtualThreadFactory(String threadNamePrefix) {
+    // the adapter is built for Java 17, where Spring can't create virtual threads
+    if (Runtime.version().feature() < 21) {
+      throw new IllegalStateException(
+          String.format(
+              "kadai.adapter.scheduler.virtual.threads.enabled requires Java 21 or later, "
+                  + "but the adapter runs on Java %d. Disable the property or run on Java 21.",
+              Runtime.version().feature()));
+    }
+    return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
   }
 }
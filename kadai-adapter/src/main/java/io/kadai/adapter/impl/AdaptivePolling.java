@@ -0,0 +1,142 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adapts how often the scheduled jobs poll to the backlog they find. If adaptive polling is
+ * enabled, a poller that retrieved a full page runs its next cycle right away, and a poller that
+ * retrieved nothing skips its following runs with an exponentially growing back-off, up to the
+ * configured maximum interval. A poller that retrieved a partial page runs again at its regular
+ * interval. Without adaptive polling every poller runs exactly once per interval.
+ *
+ * <p>If draining is enabled, a poller keeps running cycles within a scheduled run as long as it
+ * retrieves anything, so that a backlog is worked off at full speed instead of one page per
+ * interval. Both draining and the cycles following full pages are limited by a time budget per
+ * run, which defaults to the interval of the poller.
+ */
+@Component
+public class AdaptivePolling {
+
+  private final boolean enabled;
+  private final long maximumIntervalInMilliseconds;
+  private final boolean drainEnabled;
+  private final long timeBudgetInMilliseconds;
+  private final Map<String, BackOff> backOffs = new ConcurrentHashMap<>();
+
+  @Autowired
+  public AdaptivePolling(
+      @Value("${kadai.adapter.scheduler.adaptive.enabled:false}") boolean enabled,
+      @Value("${kadai.adapter.scheduler.adaptive.maximum.interval.in.milliseconds:60000}")
+          long maximumIntervalInMilliseconds,
+      @Value("${kadai.adapter.scheduler.drain.enabled:false}") boolean drainEnabled,
+      @Value("${kadai.adapter.scheduler.drain.time.budget.in.milliseconds:0}")
+          long timeBudgetInMilliseconds) {
+    this.enabled = enabled;
+    this.maximumIntervalInMilliseconds = maximumIntervalInMilliseconds;
+    this.drainEnabled = drainEnabled;
+    this.timeBudgetInMilliseconds = timeBudgetInMilliseconds;
+  }
+
+  /**
+   * Runs cycles of the given poller, until a cycle says there is nothing left to do right away or
+   * the time budget of the run is used up.
+   *
+   * @param pollerName the name of the poller
+   * @param intervalInMilliseconds the regular interval the poller is scheduled with
+   * @param pageSize the maximum number of items a cycle retrieves
+   * @param cycle the cycle, returning the number of items it processed successfully. Items that
+   *     failed and are retrieved again by the next cycle must not be counted, otherwise a poller
+   *     keeps retrying them for the whole time budget.
+   */
+  public void runCycles(
+      String pollerName, long intervalInMilliseconds, int pageSize, IntSupplier cycle) {
+    long deadline =
+        System.currentTimeMillis()
+            + (timeBudgetInMilliseconds > 0 ? timeBudgetInMilliseconds : intervalInMilliseconds);
+    boolean runNextCycle;
+    do {
+      int numberOfItems = cycle.getAsInt();
+      boolean fullPage =
+          cycleCompleted(pollerName, intervalInMilliseconds, numberOfItems, pageSize);
+      runNextCycle = fullPage || drainEnabled && numberOfItems > 0;
+    } while (runNextCycle && System.currentTimeMillis() < deadline);
+  }
+
+  /**
+   * Checks whether the given poller is due, i.e. not backing off.
+   *
+   * @param pollerName the name of the poller
+   * @return true if the poller should run
+   */
+  public boolean isDue(String pollerName) {
+    if (!enabled) {
+      return true;
+    }
+    BackOff backOff = backOffs.get(pollerName);
+    return backOff == null || backOff.notBefore <= System.currentTimeMillis();
+  }
+
+  /**
+   * Records the result of a cycle of the given poller and decides how it continues.
+   *
+   * @param pollerName the name of the poller
+   * @param intervalInMilliseconds the regular interval the poller is scheduled with
+   * @param numberOfItems the number of items the cycle retrieved
+   * @param pageSize the maximum number of items a cycle retrieves
+   * @return true if the poller should run its next cycle right away
+   */
+  public boolean cycleCompleted(
+      String pollerName, long intervalInMilliseconds, int numberOfItems, int pageSize) {
+    if (!enabled) {
+      return false;
+    }
+    if (numberOfItems > 0) {
+      backOffs.remove(pollerName);
+      return numberOfItems >= pageSize;
+    }
+    backOffs.compute(
+        pollerName,
+        (name, backOff) -> {
+          long previousInterval = backOff == null ? intervalInMilliseconds : backOff.interval;
+          long interval = Math.min(2 * previousInterval, maximumIntervalInMilliseconds);
+          // the next regular run happens one interval from now anyway
+          return new BackOff(
+              interval, System.currentTimeMillis() + interval - intervalInMilliseconds);
+        });
+    return false;
+  }
+
+  private static final class BackOff {
+
+    private final long interval;
+    private final long notBefore;
+
+    private BackOff(long interval, long notBefore) {
+      this.interval = interval;
+      this.notBefore = notBefore;
+    }
+  }
+}
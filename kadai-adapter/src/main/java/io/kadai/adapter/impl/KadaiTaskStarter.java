@@ -18,79 +18,133 @@
 
 package io.kadai.adapter.impl;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.adapter.exceptions.TaskCreationFailedException;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.manager.AdapterManager;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
 import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.common.api.BulkOperationResults;
+import io.kadai.common.api.exceptions.SystemException;
 import io.kadai.task.api.exceptions.TaskAlreadyExistException;
 import io.kadai.task.api.models.Task;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-/** Retrieves tasks in an external system and starts corresponding tasks in KADAI. */
+/**
+ * Retrieves tasks in an external system and starts corresponding tasks in KADAI. Each system
+ * connector is handled in its own lane, so the systems are processed independently of each other.
+ */
 @Component
 public class KadaiTaskStarter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KadaiTaskStarter.class);
 
+  // marks the end of the pages passed between the stages of a pipelined lane
+  private static final List<ReferencedTask> END_OF_PAGES = new ArrayList<>();
+
+  // how long a stage waits on a queue before it checks whether the pipeline was aborted
+  private static final long PIPELINE_WAIT_IN_MILLISECONDS = 100;
+
   @Value("${kadai.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${kadai.adapter.scheduler.run.interval.for.start.kadai.tasks.in.milliseconds:5000}")
+  protected long runInterval;
+
+  // same default as kadai.adapter.outbox.max.number.of.events in kadai-outbox.properties
+  @Value("${kadai.adapter.outbox.max.number.of.events:57}")
+  protected int outboxPageSize;
+
+  @Value("${kadai.adapter.scheduler.task.starter.pipelined:false}")
+  protected boolean pipelined;
+
+  @Value("${kadai.adapter.scheduler.task.starter.pipeline.queue.capacity:2}")
+  protected int pipelineQueueCapacity;
+
+  @Value("${kadai.adapter.events.lockDuration:0}")
+  protected long eventLockDurationInSeconds;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired AdaptivePolling adaptivePolling;
+
+  private final Map<String, AtomicBoolean> runningLanes = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean sequentialFallbackLogged = new AtomicBoolean();
+
+  @Autowired
+  @Qualifier(SchedulerConfiguration.KADAI_TASK_STARTER_EXECUTOR)
+  TaskExecutor laneExecutor;
+
+  @Autowired
+  @Qualifier(SchedulerConfiguration.KADAI_TASK_STARTER_PIPELINE_EXECUTOR)
+  Executor pipelineExecutor;
+
   @Scheduled(
+      scheduler = SchedulerConfiguration.KADAI_TASK_STARTER_SCHEDULER,
       fixedRateString =
           "${kadai.adapter.scheduler.run.interval.for.start.kadai.tasks.in.milliseconds:5000}")
   public void retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks() {
     if (!adapterIsInitialized()) {
       return;
     }
-    synchronized (KadaiTaskStarter.class) {
-      if (!adapterManager.isInitialized()) {
-        return;
-      }
 
-      LOGGER.debug(
-          "-retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks started---------------");
-      try {
-        UserContext.runAsUser(
-            runAsUser,
-            () -> {
-              retrieveReferencedTasksAndCreateCorrespondingKadaiTasks();
-              return null;
-            });
-      } catch (Exception ex) {
-        LOGGER.error(
-            "Caught exception while trying to create Kadai tasks from referenced tasks", ex);
-      }
+    LOGGER.debug(
+        "-retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks started---------------");
+    for (SystemConnector systemConnector : adapterManager.getSystemConnectors().values()) {
+      startLane(systemConnector);
     }
   }
 
   public void retrieveReferencedTasksAndCreateCorrespondingKadaiTasks() {
     LOGGER.trace("KadaiTaskStarter.retrieveReferencedTasksAndCreateCorrespondingKadaiTasks ENTRY ");
     for (SystemConnector systemConnector : (adapterManager.getSystemConnectors().values())) {
-      try {
-        List<ReferencedTask> tasksToStart = systemConnector.retrieveNewStartedReferencedTasks();
-
-        List<ReferencedTask> newCreatedTasksInKadai =
-            createAndStartKadaiTasks(systemConnector, tasksToStart);
-
-        systemConnector.kadaiTasksHaveBeenCreatedForNewReferencedTasks(newCreatedTasksInKadai);
-      } finally {
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace(
-              String.format(
-                  "KadaiTaskStarter.retrieveReferencedTasksAndCreateCorrespondingKadaiTasks "
-                      + "Leaving handling of new tasks for System Connector %s",
-                  systemConnector.getSystemUrl()));
-        }
+      retrieveReferencedTasksAndCreateCorrespondingKadaiTasks(systemConnector);
+    }
+  }
+
+  public void retrieveReferencedTasksAndCreateCorrespondingKadaiTasks(
+      SystemConnector systemConnector) {
+    createKadaiTasksForNewReferencedTasks(systemConnector);
+  }
+
+  private int createKadaiTasksForNewReferencedTasks(SystemConnector systemConnector) {
+    try {
+      List<ReferencedTask> tasksToStart = systemConnector.retrieveNewStartedReferencedTasks();
+
+      List<ReferencedTask> newCreatedTasksInKadai =
+          createAndStartKadaiTasks(systemConnector, tasksToStart);
+
+      systemConnector.kadaiTasksHaveBeenCreatedForNewReferencedTasks(newCreatedTasksInKadai);
+      return newCreatedTasksInKadai.size();
+    } finally {
+      if (LOGGER.isTraceEnabled()) {
+        LOGGER.trace(
+            String.format(
+                "KadaiTaskStarter.retrieveReferencedTasksAndCreateCorrespondingKadaiTasks "
+                    + "Leaving handling of new tasks for System Connector %s",
+                systemConnector.getSystemUrl()));
       }
     }
   }
@@ -109,35 +163,290 @@ public class KadaiTaskStarter {
 
   private List<ReferencedTask> createAndStartKadaiTasks(
       SystemConnector systemConnector, List<ReferencedTask> tasksToStart) {
+    KadaiConnector kadaiConnector = adapterManager.getKadaiConnector();
     List<ReferencedTask> newCreatedTasksInKadai = new ArrayList<>();
+    List<ReferencedTask> referencedTasksToCreate = new ArrayList<>();
+    List<Task> kadaiTasksToCreate = new ArrayList<>();
     for (ReferencedTask referencedTask : tasksToStart) {
       try {
-        createKadaiTask(referencedTask, adapterManager.getKadaiConnector(), systemConnector);
-        newCreatedTasksInKadai.add(referencedTask);
-      } catch (TaskCreationFailedException e) {
-        if (e.getCause() instanceof TaskAlreadyExistException) {
-          newCreatedTasksInKadai.add(referencedTask);
-        } else {
-          LOGGER.warn(
-              "caught Exception when attempting to start KadaiTask for referencedTask {}",
-              referencedTask,
-              e);
-          systemConnector.kadaiTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
-          systemConnector.unlockEvent(referencedTask.getOutboxEventId());
-        }
+        referencedTask.setSystemUrl(systemConnector.getSystemUrl());
+        addVariablesToReferencedTask(referencedTask, systemConnector);
+        kadaiTasksToCreate.add(kadaiConnector.convertToKadaiTask(referencedTask));
+        referencedTasksToCreate.add(referencedTask);
       } catch (Exception e) {
-        LOGGER.warn(
-            "caught unexpected Exception when attempting to start KadaiTask "
-                + "for referencedTask {}",
-            referencedTask,
-            e);
-        systemConnector.kadaiTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
-        systemConnector.unlockEvent(referencedTask.getOutboxEventId());
+        handleFailedTaskCreation(systemConnector, referencedTask, e);
+      }
+    }
+
+    BulkOperationResults<String, TaskCreationFailedException> creationResults;
+    try {
+      creationResults = kadaiConnector.createKadaiTasks(kadaiTasksToCreate);
+    } catch (Exception e) {
+      referencedTasksToCreate.forEach(
+          referencedTask -> handleFailedTaskCreation(systemConnector, referencedTask, e));
+      return newCreatedTasksInKadai;
+    }
+
+    for (int i = 0; i < referencedTasksToCreate.size(); i++) {
+      ReferencedTask referencedTask = referencedTasksToCreate.get(i);
+      TaskCreationFailedException failure =
+          creationResults.getErrorForId(kadaiTasksToCreate.get(i).getExternalId());
+      if (failure == null || failure.getCause() instanceof TaskAlreadyExistException) {
+        newCreatedTasksInKadai.add(referencedTask);
+      } else {
+        handleFailedTaskCreation(systemConnector, referencedTask, failure);
       }
     }
     return newCreatedTasksInKadai;
   }
 
+  private void handleFailedTaskCreation(
+      SystemConnector systemConnector, ReferencedTask referencedTask, Exception e) {
+    LOGGER.warn(
+        "caught Exception when attempting to start KadaiTask for referencedTask {}",
+        referencedTask,
+        e);
+    systemConnector.kadaiTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
+    systemConnector.unlockEvent(referencedTask.getOutboxEventId());
+  }
+
+  /**
+   * Hands the handling of the given system connector to the lane executor. A lane of a system
+   * connector is only started if its previous run has finished, so that a slow or unreachable
+   * system is skipped without holding up the lanes of the other systems. With adaptive polling a
+   * lane is also skipped while it backs off. A lane keeps running cycles as long as {@link
+   * AdaptivePolling#runCycles} lets it. If the lane executor rejects the lane because all of its
+   * threads and its bounded queue are taken, the lane is retried on the next run.
+   *
+   * @param systemConnector the system connector whose lane is started
+   */
+  private void startLane(SystemConnector systemConnector) {
+    String pollerName = KadaiTaskStarter.class.getSimpleName() + systemConnector.getSystemUrl();
+    if (!adaptivePolling.isDue(pollerName)) {
+      return;
+    }
+    AtomicBoolean running =
+        runningLanes.computeIfAbsent(systemConnector.getSystemUrl(), url -> new AtomicBoolean());
+    if (!running.compareAndSet(false, true)) {
+      LOGGER.debug(
+          "Lane for System Connector {} is still busy, skipping this run",
+          systemConnector.getSystemUrl());
+      return;
+    }
+    try {
+      laneExecutor.execute(
+          () -> {
+            try {
+              if (isPipelined()) {
+                runPipelinedCycles(systemConnector, pollerName);
+              } else {
+                adaptivePolling.runCycles(
+                    pollerName,
+                    runInterval,
+                    outboxPageSize,
+                    () ->
+                        UserContext.runAsUser(
+                            runAsUser,
+                            () -> createKadaiTasksForNewReferencedTasks(systemConnector)));
+              }
+            } catch (Exception ex) {
+              LOGGER.error(
+                  "Caught exception while trying to create Kadai tasks from referenced tasks "
+                      + "of System Connector {}",
+                  systemConnector.getSystemUrl(),
+                  ex);
+            } finally {
+              running.set(false);
+            }
+          });
+    } catch (TaskRejectedException ex) {
+      running.set(false);
+      LOGGER.warn(
+          "Could not start lane for System Connector {}, all lanes are busy, retrying next run",
+          systemConnector.getSystemUrl(),
+          ex);
+    }
+  }
+
+  /**
+   * Checks whether the lanes run pipelined. A pipelined lane fetches the next page before the
+   * previous page is reported back, which is only safe while the fetched events are locked in the
+   * outbox. Without a lock duration the lanes run sequentially.
+   *
+   * @return true if the lanes run pipelined
+   */
+  private boolean isPipelined() {
+    if (!pipelined) {
+      return false;
+    }
+    if (eventLockDurationInSeconds > 0) {
+      return true;
+    }
+    if (sequentialFallbackLogged.compareAndSet(false, true)) {
+      LOGGER.warn(
+          "kadai.adapter.scheduler.task.starter.pipelined requires "
+              + "kadai.adapter.events.lockDuration to be greater than 0. "
+              + "Creating KADAI tasks sequentially instead.");
+    }
+    return false;
+  }
+
+  /**
+   * Runs the cycles of a lane as a pipeline of three stages connected by bounded queues. The lane
+   * thread fetches the pages of new referenced tasks, a second stage creates the KADAI tasks for
+   * them, and a third stage reports the created tasks back to the system connector. So the next
+   * page is fetched while the current page is created in KADAI and the previous page is reported.
+   * Since a page is fetched before the previous pages are reported, the system connector has to
+   * lock the fetched tasks, otherwise they are fetched again.
+   *
+   * <p>If a stage fails or cannot be started, the whole pipeline is aborted, so that neither the
+   * lane thread nor the other stage waits for it forever. The pages still in the pipeline are
+   * dropped, their tasks are fetched again once their lock expires.
+   *
+   * @param systemConnector the system connector of the lane
+   * @param pollerName the name the lane is polling as
+   */
+  private void runPipelinedCycles(SystemConnector systemConnector, String pollerName) {
+    BlockingQueue<List<ReferencedTask>> fetchedPages =
+        new ArrayBlockingQueue<>(pipelineQueueCapacity);
+    BlockingQueue<List<ReferencedTask>> createdPages =
+        new ArrayBlockingQueue<>(pipelineQueueCapacity);
+    AtomicBoolean aborted = new AtomicBoolean();
+
+    CompletableFuture<Void> creation =
+        startPipelineStage(
+            () ->
+                runPipelineStage(
+                    fetchedPages,
+                    page -> createAndStartKadaiTasks(systemConnector, page),
+                    createdPages,
+                    aborted),
+            aborted);
+    CompletableFuture<Void> reporting =
+        startPipelineStage(
+            () ->
+                runPipelineStage(
+                    createdPages,
+                    page -> {
+                      systemConnector.kadaiTasksHaveBeenCreatedForNewReferencedTasks(page);
+                      return page;
+                    },
+                    null,
+                    aborted),
+            aborted);
+
+    RuntimeException failure = null;
+    try {
+      adaptivePolling.runCycles(
+          pollerName,
+          runInterval,
+          outboxPageSize,
+          () -> {
+            checkPipelineNotAborted(aborted);
+            List<ReferencedTask> page =
+                UserContext.runAsUser(
+                    runAsUser, systemConnector::retrieveNewStartedReferencedTasks);
+            if (!page.isEmpty()) {
+              putPage(fetchedPages, page, aborted);
+            }
+            return page.size();
+          });
+      putPage(fetchedPages, END_OF_PAGES, aborted);
+    } catch (RuntimeException e) {
+      aborted.set(true);
+      failure = e;
+    }
+
+    try {
+      CompletableFuture.allOf(creation, reporting).join();
+    } catch (CompletionException e) {
+      if (failure == null) {
+        failure = new SystemException("A stage of the task starter pipeline failed", e.getCause());
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private CompletableFuture<Void> startPipelineStage(Runnable stage, AtomicBoolean aborted) {
+    CompletableFuture<Void> stageResult = new CompletableFuture<>();
+    if (aborted.get()) {
+      stageResult.completeExceptionally(
+          new SystemException("The task starter pipeline was aborted"));
+      return stageResult;
+    }
+    try {
+      pipelineExecutor.execute(
+          () -> {
+            try {
+              stage.run();
+              stageResult.complete(null);
+            } catch (Throwable e) {
+              aborted.set(true);
+              stageResult.completeExceptionally(e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      aborted.set(true);
+      stageResult.completeExceptionally(e);
+    }
+    return stageResult;
+  }
+
+  private void runPipelineStage(
+      BlockingQueue<List<ReferencedTask>> input,
+      UnaryOperator<List<ReferencedTask>> stage,
+      BlockingQueue<List<ReferencedTask>> output,
+      AtomicBoolean aborted) {
+    List<ReferencedTask> page;
+    while ((page = takePage(input, aborted)) != END_OF_PAGES) {
+      List<ReferencedTask> pageToProcess = page;
+      List<ReferencedTask> processedPage =
+          UserContext.runAsUser(runAsUser, () -> stage.apply(pageToProcess));
+      if (output != null) {
+        putPage(output, processedPage, aborted);
+      }
+    }
+    if (output != null) {
+      putPage(output, END_OF_PAGES, aborted);
+    }
+  }
+
+  private static void putPage(
+      BlockingQueue<List<ReferencedTask>> queue,
+      List<ReferencedTask> page,
+      AtomicBoolean aborted) {
+    try {
+      while (!queue.offer(page, PIPELINE_WAIT_IN_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+        checkPipelineNotAborted(aborted);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SystemException("Interrupted while passing on a page of referenced tasks");
+    }
+  }
+
+  private static List<ReferencedTask> takePage(
+      BlockingQueue<List<ReferencedTask>> queue, AtomicBoolean aborted) {
+    try {
+      List<ReferencedTask> page;
+      while ((page = queue.poll(PIPELINE_WAIT_IN_MILLISECONDS, TimeUnit.MILLISECONDS)) == null) {
+        checkPipelineNotAborted(aborted);
+      }
+      return page;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SystemException("Interrupted while waiting for a page of referenced tasks");
+    }
+  }
+
+  private static void checkPipelineNotAborted(AtomicBoolean aborted) {
+    if (aborted.get()) {
+      throw new SystemException("The task starter pipeline was aborted");
+    }
+  }
+
   private void addVariablesToReferencedTask(
       ReferencedTask referencedTask, SystemConnector connector) {
     if (referencedTask.getVariables() == null) {
@@ -18,6 +18,7 @@
 
 package io.kadai.adapter.impl;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.adapter.exceptions.TaskTerminationFailedException;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.manager.AdapterManager;
@@ -41,9 +42,21 @@ public class KadaiTaskTerminator {
   @Value("${kadai.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value(
+      "${kadai.adapter.scheduler.run.interval.for.check.finished.referenced.tasks."
+          + "in.milliseconds:5000}")
+  protected long runInterval;
+
+  // same default as kadai.adapter.outbox.max.number.of.events in kadai-outbox.properties
+  @Value("${kadai.adapter.outbox.max.number.of.events:57}")
+  protected int outboxPageSize;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired AdaptivePolling adaptivePolling;
+
   @Scheduled(
+      scheduler = SchedulerConfiguration.KADAI_TASK_TERMINATOR_SCHEDULER,
       fixedRateString =
           "${kadai.adapter.scheduler.run.interval.for.check.finished.referenced.tasks."
               + "in.milliseconds:5000}")
@@ -67,13 +80,19 @@ public class KadaiTaskTerminator {
       try {
 
         for (SystemConnector systemConnector : (adapterManager.getSystemConnectors().values())) {
-          UserContext.runAsUser(
-              runAsUser,
-              () -> {
-                retrieveFinishededReferencedTasksAndTerminateCorrespondingKadaiTasks(
-                    systemConnector);
-                return null;
-              });
+          String pollerName =
+              KadaiTaskTerminator.class.getSimpleName() + systemConnector.getSystemUrl();
+          if (!adaptivePolling.isDue(pollerName)) {
+            continue;
+          }
+          adaptivePolling.runCycles(
+              pollerName,
+              runInterval,
+              outboxPageSize,
+              () ->
+                  UserContext.runAsUser(
+                      runAsUser,
+                      () -> terminateKadaiTasksForFinishedReferencedTasks(systemConnector)));
         }
       } catch (Exception e) {
         LOGGER.warn(
@@ -86,6 +105,10 @@ public class KadaiTaskTerminator {
 
   public void retrieveFinishededReferencedTasksAndTerminateCorrespondingKadaiTasks(
       SystemConnector systemConnector) {
+    terminateKadaiTasksForFinishedReferencedTasks(systemConnector);
+  }
+
+  private int terminateKadaiTasksForFinishedReferencedTasks(SystemConnector systemConnector) {
     LOGGER.trace(
         "KadaiTaskTerminator."
             + "retrieveFinishedReferencedTasksAndTerminateCorrespondingKadaiTasks ENTRY ");
@@ -116,6 +139,7 @@ public class KadaiTaskTerminator {
         }
       }
       systemConnector.kadaiTasksHaveBeenTerminatedForFinishedReferencedTasks(kadaiTasksToTerminate);
+      return tasksSuccessfullyTerminatedInKadai.size();
 
     } finally {
       LOGGER.trace(
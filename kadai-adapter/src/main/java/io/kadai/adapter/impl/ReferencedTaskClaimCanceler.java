@@ -18,13 +18,12 @@
 
 package io.kadai.adapter.impl;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.manager.AdapterManager;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
 import io.kadai.adapter.systemconnector.api.SystemConnector;
-import io.kadai.common.api.exceptions.SystemException;
 import io.kadai.task.api.CallbackState;
-import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,13 +38,25 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReferencedTaskClaimCanceler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskClaimCanceler.class);
+  private static final String POLLER_NAME = ReferencedTaskClaimCanceler.class.getSimpleName();
 
   @Value("${kadai.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value(
+      "${kadai.adapter.scheduler.run.interval.for.cancel.claim.referenced.tasks."
+          + "in.milliseconds:5000}")
+  protected long runInterval;
+
+  @Value("${kadai.adapter.sync.kadai.batchSize:64}")
+  protected int batchSize;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired AdaptivePolling adaptivePolling;
+
   @Scheduled(
+      scheduler = SchedulerConfiguration.REFERENCED_TASK_CLAIM_CANCELER_SCHEDULER,
       fixedRateString =
           "${kadai.adapter.scheduler.run.interval.for.cancel.claim.referenced.tasks."
               + "in.milliseconds:5000}")
@@ -56,16 +67,20 @@ public class ReferencedTaskClaimCanceler {
       if (!adapterManager.isInitialized()) {
         return;
       }
+      if (!adaptivePolling.isDue(POLLER_NAME)) {
+        return;
+      }
 
       LOGGER.debug(
           "----retrieveCancelledClaimKadaiTasksAndCancelCorrespondingReferencedTasks started--");
       try {
-        UserContext.runAsUser(
-            runAsUser,
-            () -> {
-              retrieveCancelledClaimKadaiTasksAndCancelClaimCorrespondingReferencedTask();
-              return null;
-            });
+        adaptivePolling.runCycles(
+            POLLER_NAME,
+            runInterval,
+            batchSize,
+            () ->
+                UserContext.runAsUser(
+                    runAsUser, this::cancelClaimOfReferencedTasksForCancelledClaimKadaiTasks));
       } catch (Exception ex) {
         LOGGER.debug("Caught exception while trying to cancel claim referenced tasks", ex);
       }
@@ -73,6 +88,10 @@ public class ReferencedTaskClaimCanceler {
   }
 
   public void retrieveCancelledClaimKadaiTasksAndCancelClaimCorrespondingReferencedTask() {
+    cancelClaimOfReferencedTasksForCancelledClaimKadaiTasks();
+  }
+
+  private int cancelClaimOfReferencedTasksForCancelledClaimKadaiTasks() {
 
     try {
       KadaiConnector kadaiSystemConnector = adapterManager.getKadaiConnector();
@@ -84,6 +103,7 @@ public class ReferencedTaskClaimCanceler {
 
       kadaiSystemConnector.changeTaskCallbackState(
           tasksCancelClaimedInExternalSystem, CallbackState.CALLBACK_PROCESSING_REQUIRED);
+      return tasksCancelClaimedInExternalSystem.size();
     } finally {
       LOGGER.trace(
           "ReferencedTaskClaimer."
@@ -94,41 +114,10 @@ public class ReferencedTaskClaimCanceler {
 
   private List<ReferencedTask> cancelClaimReferencedTasksInExternalSystem(
       List<ReferencedTask> tasksUnclaimedByKadai) {
-
-    List<ReferencedTask> tasksCancelClaimedInExternalSystem = new ArrayList<>();
-    for (ReferencedTask referencedTaskToCancelClaim : tasksUnclaimedByKadai) {
-      if (cancelClaimReferencedTask(referencedTaskToCancelClaim)) {
-        tasksCancelClaimedInExternalSystem.add(referencedTaskToCancelClaim);
-      }
-    }
-    return tasksCancelClaimedInExternalSystem;
-  }
-
-  private boolean cancelClaimReferencedTask(ReferencedTask referencedTask) {
-
-    LOGGER.trace(
-        "ENTRY to ReferencedTaskClaimer.cancelClaimReferencedTask, TaskId = {} ",
-        referencedTask.getId());
-    boolean success = false;
-    try {
-      SystemConnector connector =
-          adapterManager.getSystemConnectors().get(referencedTask.getSystemUrl());
-      if (connector != null) {
-        connector.cancelClaimReferencedTask(referencedTask);
-        success = true;
-      } else {
-        throw new SystemException(
-            "couldnt find a connector for systemUrl " + referencedTask.getSystemUrl());
-      }
-    } catch (Exception ex) {
-      LOGGER.error(
-          "Caught {} when attempting to cancel the claim for a referenced task {}",
-          ex,
-          referencedTask);
-    }
-    LOGGER.trace(
-        "Exit from ReferencedTaskClaimerCanceller.cancelClaimReferencedTask, Success = {} ",
-        success);
-    return success;
+    return SystemConnectorBulkOperation.performPerSystemConnector(
+        adapterManager,
+        tasksUnclaimedByKadai,
+        SystemConnector::cancelClaimReferencedTasks,
+        "cancel the claim of");
   }
 }
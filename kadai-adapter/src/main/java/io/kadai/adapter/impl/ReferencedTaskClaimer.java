@@ -18,13 +18,12 @@
 
 package io.kadai.adapter.impl;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.manager.AdapterManager;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
 import io.kadai.adapter.systemconnector.api.SystemConnector;
-import io.kadai.common.api.exceptions.SystemException;
 import io.kadai.task.api.CallbackState;
-import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,13 +38,25 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReferencedTaskClaimer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskClaimer.class);
+  private static final String POLLER_NAME = ReferencedTaskClaimer.class.getSimpleName();
 
   @Value("${kadai.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value(
+      "${kadai.adapter.scheduler.run.interval.for.claim.referenced.tasks."
+          + "in.milliseconds:5000}")
+  protected long runInterval;
+
+  @Value("${kadai.adapter.sync.kadai.batchSize:64}")
+  protected int batchSize;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired AdaptivePolling adaptivePolling;
+
   @Scheduled(
+      scheduler = SchedulerConfiguration.REFERENCED_TASK_CLAIMER_SCHEDULER,
       fixedRateString =
           "${kadai.adapter.scheduler.run.interval.for.claim.referenced.tasks."
               + "in.milliseconds:5000}")
@@ -56,23 +67,25 @@ public class ReferencedTaskClaimer {
       if (!adapterManager.isInitialized()) {
         return;
       }
+      if (!adaptivePolling.isDue(POLLER_NAME)) {
+        return;
+      }
 
       LOGGER.debug(
           "--retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTasks started-----------");
       try {
-        UserContext.runAsUser(
-            runAsUser,
-            () -> {
-              retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTask();
-              return null;
-            });
+        adaptivePolling.runCycles(
+            POLLER_NAME,
+            runInterval,
+            batchSize,
+            () -> UserContext.runAsUser(runAsUser, this::claimReferencedTasksForClaimedKadaiTasks));
       } catch (Exception ex) {
         LOGGER.debug("Caught exception while trying to claim referenced tasks", ex);
       }
     }
   }
 
-  private void retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTask() {
+  private int claimReferencedTasksForClaimedKadaiTasks() {
     LOGGER.trace(
         "ReferencedTaskClaimer."
             + "retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTask ENTRY");
@@ -85,6 +98,7 @@ public class ReferencedTaskClaimer {
 
       kadaiSystemConnector.changeTaskCallbackState(
           tasksClaimedInExternalSystem, CallbackState.CLAIMED);
+      return tasksClaimedInExternalSystem.size();
 
     } finally {
       LOGGER.trace(
@@ -95,34 +109,7 @@ public class ReferencedTaskClaimer {
 
   private List<ReferencedTask> claimReferencedTasksInExternalSystem(
       List<ReferencedTask> tasksClaimedByKadai) {
-
-    List<ReferencedTask> tasksClaimedInExternalSystem = new ArrayList<>();
-    for (ReferencedTask referencedTask : tasksClaimedByKadai) {
-      if (claimReferencedTask(referencedTask)) {
-        tasksClaimedInExternalSystem.add(referencedTask);
-      }
-    }
-    return tasksClaimedInExternalSystem;
-  }
-
-  private boolean claimReferencedTask(ReferencedTask referencedTask) {
-    LOGGER.trace(
-        "ENTRY to ReferencedTaskClaimer.claimReferencedTask, TaskId = {} ", referencedTask.getId());
-    boolean success = false;
-    try {
-      SystemConnector connector =
-          adapterManager.getSystemConnectors().get(referencedTask.getSystemUrl());
-      if (connector != null) {
-        connector.claimReferencedTask(referencedTask);
-        success = true;
-      } else {
-        throw new SystemException(
-            "couldnt find a connector for systemUrl " + referencedTask.getSystemUrl());
-      }
-    } catch (Exception ex) {
-      LOGGER.error("Caught {} when attempting to claim referenced task {}", ex, referencedTask);
-    }
-    LOGGER.trace("Exit from ReferencedTaskClaimer.claimReferencedTask, Success = {} ", success);
-    return success;
+    return SystemConnectorBulkOperation.performPerSystemConnector(
+        adapterManager, tasksClaimedByKadai, SystemConnector::claimReferencedTasks, "claim");
   }
 }
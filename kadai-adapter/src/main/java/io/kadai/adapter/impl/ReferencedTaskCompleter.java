@@ -18,6 +18,7 @@
 
 package io.kadai.adapter.impl;
 
+import io.kadai.adapter.configuration.SchedulerConfiguration;
 import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
 import io.kadai.adapter.manager.AdapterManager;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
@@ -25,56 +26,98 @@ import io.kadai.adapter.systemconnector.api.SystemConnector;
 import io.kadai.common.api.exceptions.SystemException;
 import io.kadai.task.api.CallbackState;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Completes ReferencedTasks in the external system after completion of corresponding KADAI tasks.
+ *
+ * <p>Only the retrieval of the finished KADAI tasks is serialized. The requests to the external
+ * systems run outside of that lock and outside of a transaction, so a slow system doesn't hold up
+ * the retrieval. A task that is still being completed by one run is skipped by any other run.
  */
 @Component
 public class ReferencedTaskCompleter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskCompleter.class);
+  private static final String POLLER_NAME = ReferencedTaskCompleter.class.getSimpleName();
 
   @Value("${kadai.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${kadai.adapter.scheduler.task.completer.concurrent:false}")
+  protected boolean concurrent;
+
+  @Value("${kadai.adapter.scheduler.task.completer.parallelism.per.system:1}")
+  protected int parallelismPerSystem;
+
+  @Value(
+      "${kadai.adapter.scheduler.run.interval.for.complete.referenced.tasks."
+          + "in.milliseconds:5000}")
+  protected long runInterval;
+
+  @Value("${kadai.adapter.sync.kadai.batchSize:64}")
+  protected int batchSize;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired AdaptivePolling adaptivePolling;
+
+  // sized by kadai.adapter.scheduler.task.completer.parallelism
+  @Autowired
+  @Qualifier(SchedulerConfiguration.REFERENCED_TASK_COMPLETER_EXECUTOR)
+  ThreadPoolTaskExecutor completerExecutor;
+
+  private final Set<String> tasksInProgress = ConcurrentHashMap.newKeySet();
+
   @Scheduled(
+      scheduler = SchedulerConfiguration.REFERENCED_TASK_COMPLETER_SCHEDULER,
       fixedRateString =
           "${kadai.adapter.scheduler.run.interval.for.complete.referenced.tasks."
               + "in.milliseconds:5000}")
-  @Transactional
   public void retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTasks() {
 
-    synchronized (ReferencedTaskCompleter.class) {
-      if (!adapterManager.isInitialized()) {
-        return;
-      }
+    if (!adapterManager.isInitialized()) {
+      return;
+    }
+    if (!adaptivePolling.isDue(POLLER_NAME)) {
+      return;
+    }
 
-      LOGGER.debug(
-          "--retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTasks started-------");
-      try {
-        UserContext.runAsUser(
-            runAsUser,
-            () -> {
-              retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask();
-              return null;
-            });
-      } catch (Exception ex) {
-        LOGGER.debug("Caught exception while trying to complete referenced tasks", ex);
-      }
+    LOGGER.debug(
+        "--retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTasks started-------");
+    try {
+      adaptivePolling.runCycles(
+          POLLER_NAME,
+          runInterval,
+          batchSize,
+          () ->
+              UserContext.runAsUser(
+                  runAsUser, this::completeReferencedTasksForFinishedKadaiTasks));
+    } catch (Exception ex) {
+      LOGGER.debug("Caught exception while trying to complete referenced tasks", ex);
     }
   }
 
   public void retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask() {
+    completeReferencedTasksForFinishedKadaiTasks();
+  }
+
+  private int completeReferencedTasksForFinishedKadaiTasks() {
     LOGGER.trace(
         "ReferencedTaskCompleter."
             + "retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask ENTRY");
@@ -82,12 +125,18 @@ public class ReferencedTaskCompleter {
       KadaiConnector kadaiSystemConnector = adapterManager.getKadaiConnector();
 
       List<ReferencedTask> tasksCompletedByKadai =
-          kadaiSystemConnector.retrieveFinishedKadaiTasksAsReferencedTasks();
-      List<ReferencedTask> tasksCompletedInExternalSystem =
-          completeReferencedTasksInExternalSystem(tasksCompletedByKadai);
+          retrieveFinishedKadaiTasksNotInProgress(kadaiSystemConnector);
+      try {
+        List<ReferencedTask> tasksCompletedInExternalSystem =
+            completeReferencedTasksInExternalSystem(tasksCompletedByKadai);
 
-      kadaiSystemConnector.changeTaskCallbackState(
-          tasksCompletedInExternalSystem, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+        kadaiSystemConnector.changeTaskCallbackState(
+            tasksCompletedInExternalSystem, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+        return tasksCompletedInExternalSystem.size();
+      } finally {
+        tasksCompletedByKadai.forEach(
+            referencedTask -> tasksInProgress.remove(referencedTask.getId()));
+      }
     } finally {
       LOGGER.trace(
           "ReferencedTaskCompleter."
@@ -119,14 +168,83 @@ public class ReferencedTaskCompleter {
     return success;
   }
 
+  /**
+   * Retrieves the finished KADAI tasks and marks them as in progress. Tasks that another run is
+   * still completing are left out.
+   *
+   * @param kadaiSystemConnector the connector to KADAI
+   * @return the referenced tasks this run completes
+   */
+  private List<ReferencedTask> retrieveFinishedKadaiTasksNotInProgress(
+      KadaiConnector kadaiSystemConnector) {
+    synchronized (ReferencedTaskCompleter.class) {
+      List<ReferencedTask> tasksToComplete = new ArrayList<>();
+      for (ReferencedTask referencedTask :
+          kadaiSystemConnector.retrieveFinishedKadaiTasksAsReferencedTasks()) {
+        if (tasksInProgress.add(referencedTask.getId())) {
+          tasksToComplete.add(referencedTask);
+        }
+      }
+      return tasksToComplete;
+    }
+  }
+
+  /**
+   * Completes the referenced tasks in the external systems. By default the tasks of each system
+   * are completed with one bulk request after another. With {@link #concurrent} set they are
+   * completed on the completer executor, see {@link #completeReferencedTasksConcurrently}.
+   *
+   * @param tasksCompletedByKadai the referenced tasks to complete
+   * @return the referenced tasks that were completed in the external system
+   */
   private List<ReferencedTask> completeReferencedTasksInExternalSystem(
       List<ReferencedTask> tasksCompletedByKadai) {
-    List<ReferencedTask> tasksCompletedInExternalSystem = new ArrayList<>();
+    if (!concurrent) {
+      return completeReferencedTasksInBulk(tasksCompletedByKadai);
+    }
+    return completeReferencedTasksConcurrently(tasksCompletedByKadai);
+  }
+
+  private List<ReferencedTask> completeReferencedTasksInBulk(List<ReferencedTask> referencedTasks) {
+    return SystemConnectorBulkOperation.performPerSystemConnector(
+        adapterManager, referencedTasks, SystemConnector::completeReferencedTasks, "complete");
+  }
+
+  /**
+   * Completes the referenced tasks on the completer executor. The tasks of each system are split
+   * into at most {@link #parallelismPerSystem} slices, and each slice is completed by a worker of
+   * its own with one bulk request, so that a single system is never flooded with requests.
+   *
+   * @param tasksCompletedByKadai the referenced tasks to complete
+   * @return the referenced tasks that were completed in the external system
+   */
+  private List<ReferencedTask> completeReferencedTasksConcurrently(
+      List<ReferencedTask> tasksCompletedByKadai) {
+    Map<String, List<ReferencedTask>> tasksPerSystem = new LinkedHashMap<>();
     for (ReferencedTask referencedTask : tasksCompletedByKadai) {
-      if (completeReferencedTask(referencedTask)) {
-        tasksCompletedInExternalSystem.add(referencedTask);
+      tasksPerSystem
+          .computeIfAbsent(referencedTask.getSystemUrl(), url -> new ArrayList<>())
+          .add(referencedTask);
+    }
+
+    Queue<ReferencedTask> tasksCompletedInExternalSystem = new ConcurrentLinkedQueue<>();
+    List<CompletableFuture<Void>> workers = new ArrayList<>();
+    for (List<ReferencedTask> tasksOfSystem : tasksPerSystem.values()) {
+      int numberOfWorkers = Math.min(Math.max(1, parallelismPerSystem), tasksOfSystem.size());
+      int sliceSize = (tasksOfSystem.size() + numberOfWorkers - 1) / numberOfWorkers;
+      for (int from = 0; from < tasksOfSystem.size(); from += sliceSize) {
+        List<ReferencedTask> slice =
+            tasksOfSystem.subList(from, Math.min(from + sliceSize, tasksOfSystem.size()));
+        workers.add(
+            CompletableFuture.runAsync(
+                () ->
+                    tasksCompletedInExternalSystem.addAll(
+                        UserContext.runAsUser(
+                            runAsUser, () -> completeReferencedTasksInBulk(slice))),
+                completerExecutor));
       }
     }
-    return tasksCompletedInExternalSystem;
+    CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+    return new ArrayList<>(tasksCompletedInExternalSystem);
   }
 }
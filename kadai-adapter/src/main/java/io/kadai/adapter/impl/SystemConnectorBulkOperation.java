@@ -0,0 +1,109 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.adapter.systemconnector.api.SystemResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs an operation on ReferencedTasks with one bulk call per system connector instead of one
+ * call per ReferencedTask.
+ */
+public class SystemConnectorBulkOperation {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SystemConnectorBulkOperation.class);
+
+  private SystemConnectorBulkOperation() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  static List<ReferencedTask> performPerSystemConnector(
+      AdapterManager adapterManager,
+      List<ReferencedTask> referencedTasks,
+      BiFunction<SystemConnector, List<ReferencedTask>, List<SystemResponse>> operation,
+      String operationName) {
+
+    Map<String, List<ReferencedTask>> tasksPerSystemUrl = new LinkedHashMap<>();
+    for (ReferencedTask referencedTask : referencedTasks) {
+      tasksPerSystemUrl
+          .computeIfAbsent(referencedTask.getSystemUrl(), url -> new ArrayList<>())
+          .add(referencedTask);
+    }
+
+    List<ReferencedTask> successfulTasks = new ArrayList<>();
+    for (Map.Entry<String, List<ReferencedTask>> entry : tasksPerSystemUrl.entrySet()) {
+      SystemConnector connector = adapterManager.getSystemConnectors().get(entry.getKey());
+      if (connector == null) {
+        LOGGER.error(
+            "couldnt find a connector for systemUrl {} to {} referenced tasks {}",
+            entry.getKey(),
+            operationName,
+            entry.getValue());
+        continue;
+      }
+      try {
+        List<SystemResponse> responses = operation.apply(connector, entry.getValue());
+        if (responses.size() != entry.getValue().size()) {
+          LOGGER.error(
+              "system connector for systemUrl {} returned {} responses for {} referenced tasks "
+                  + "to {}, the tasks without a response are treated as failed",
+              entry.getKey(),
+              responses.size(),
+              entry.getValue().size(),
+              operationName);
+        }
+        for (int i = 0; i < entry.getValue().size(); i++) {
+          ReferencedTask referencedTask = entry.getValue().get(i);
+          SystemResponse response = i < responses.size() ? responses.get(i) : null;
+          if (isSuccessful(response)) {
+            successfulTasks.add(referencedTask);
+          } else {
+            LOGGER.error(
+                "Caught {} when attempting to {} referenced task {}",
+                response == null ? null : response.getThrowable(),
+                operationName,
+                referencedTask);
+          }
+        }
+      } catch (Exception ex) {
+        LOGGER.error(
+            "Caught exception when attempting to {} referenced tasks {}",
+            operationName,
+            entry.getValue(),
+            ex);
+      }
+    }
+    return successfulTasks;
+  }
+
+  private static boolean isSuccessful(SystemResponse response) {
+    return response != null
+        && response.getStatusCode() != null
+        && response.getStatusCode().is2xxSuccessful();
+  }
+}
@@ -21,6 +21,7 @@ package io.kadai.adapter.kadaiconnector.api;
 import io.kadai.adapter.exceptions.TaskCreationFailedException;
 import io.kadai.adapter.exceptions.TaskTerminationFailedException;
 import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.common.api.BulkOperationResults;
 import io.kadai.task.api.CallbackState;
 import io.kadai.task.api.models.Task;
 import java.util.List;
@@ -69,6 +70,17 @@ public interface KadaiConnector {
    */
   void createKadaiTask(Task kadaiTask) throws TaskCreationFailedException;
 
+  /**
+   * create a list of tasks in KADAI on behalf of external tasks. The failure to create one of the
+   * tasks does not prevent the creation of the others.
+   *
+   * @param kadaiTasks The KADAI tasks to be created.
+   * @return the result of the bulk operation. It contains a TaskCreationFailedException for each
+   *     externalId of a task that could not be created.
+   */
+  BulkOperationResults<String, TaskCreationFailedException> createKadaiTasks(
+      List<Task> kadaiTasks);
+
   /**
    * Convert a ReferencedTask to a KADAI task.
    *
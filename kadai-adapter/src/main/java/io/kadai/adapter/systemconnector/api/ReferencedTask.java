@@ -18,6 +18,7 @@
 
 package io.kadai.adapter.systemconnector.api;
 
+import java.util.Map;
 import java.util.Objects;
 
 /** POJO that represents a task in the external system. */
@@ -53,6 +54,8 @@ public class ReferencedTask {
   private String customInt6;
   private String customInt7;
   private String customInt8;
+  // variables decoded by the system connector, derived from variables
+  private Map<String, String> variablesByName;
 
   public String getBusinessProcessId() {
     return businessProcessId;
@@ -286,6 +289,20 @@ public class ReferencedTask {
     this.customInt8 = customInt8;
   }
 
+  /**
+   * Returns the process variables of this task keyed by their name, with the JSON of each variable
+   * as value, if the system connector already decoded them while retrieving the task.
+   *
+   * @return the decoded process variables or null, if only {@link #getVariables()} is available
+   */
+  public Map<String, String> getVariablesByName() {
+    return variablesByName;
+  }
+
+  public void setVariablesByName(Map<String, String> variablesByName) {
+    this.variablesByName = variablesByName;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(
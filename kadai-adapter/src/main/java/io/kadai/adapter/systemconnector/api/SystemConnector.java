@@ -18,7 +18,10 @@
 
 package io.kadai.adapter.systemconnector.api;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
 
 /** This is the interface, a System Connector has to implement. */
 public interface SystemConnector {
@@ -86,6 +89,39 @@ public interface SystemConnector {
    */
   SystemResponse cancelClaimReferencedTask(ReferencedTask task);
 
+  /**
+   * Instruct the external system to complete a list of tasks. The default implementation
+   * completes the tasks one by one.
+   *
+   * @param tasks the tasks to be completed.
+   * @return the responses from the external system in the order of the given tasks.
+   */
+  default List<SystemResponse> completeReferencedTasks(List<ReferencedTask> tasks) {
+    return performForEachTask(tasks, this::completeReferencedTask);
+  }
+
+  /**
+   * Instruct the external system to claim a list of tasks. The default implementation claims the
+   * tasks one by one.
+   *
+   * @param tasks the tasks to be claimed.
+   * @return the responses from the external system in the order of the given tasks.
+   */
+  default List<SystemResponse> claimReferencedTasks(List<ReferencedTask> tasks) {
+    return performForEachTask(tasks, this::claimReferencedTask);
+  }
+
+  /**
+   * Instruct the external system to cancel the claim of a list of tasks. The default
+   * implementation cancels the claims one by one.
+   *
+   * @param tasks the tasks to cancel the claim on.
+   * @return the responses from the external system in the order of the given tasks.
+   */
+  default List<SystemResponse> cancelClaimReferencedTasks(List<ReferencedTask> tasks) {
+    return performForEachTask(tasks, this::cancelClaimReferencedTask);
+  }
+
   /**
    * Get the URL of the external system this connector connects to.
    *
@@ -115,4 +151,17 @@ public interface SystemConnector {
    * @param eventId the id of the event that needs to be unlocked
    */
   void unlockEvent(String eventId);
+
+  private static List<SystemResponse> performForEachTask(
+      List<ReferencedTask> tasks, Function<ReferencedTask, SystemResponse> operation) {
+    List<SystemResponse> responses = new ArrayList<>();
+    for (ReferencedTask task : tasks) {
+      try {
+        responses.add(operation.apply(task));
+      } catch (Exception e) {
+        responses.add(new SystemResponse(HttpStatus.INTERNAL_SERVER_ERROR, e));
+      }
+    }
+    return responses;
+  }
 }
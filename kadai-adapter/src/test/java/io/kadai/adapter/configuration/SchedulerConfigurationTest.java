@@ -0,0 +1,50 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SchedulerConfigurationTest {
+
+  private final SchedulerConfiguration schedulerConfiguration = new SchedulerConfiguration();
+
+  @Test
+  void should_FailNamingTheProperty_When_VirtualThreadsAreEnabledBeforeJava21() {
+    assumeThat(Runtime.version().feature()).isLessThan(21);
+    ReflectionTestUtils.setField(schedulerConfiguration, "virtualThreadsEnabled", true);
+
+    assertThatThrownBy(schedulerConfiguration::kadaiTaskStarterScheduler)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("kadai.adapter.scheduler.virtual.threads.enabled")
+        .hasMessageContaining("Java 21");
+  }
+
+  @Test
+  void should_CreatePlatformThreads_When_VirtualThreadsAreDisabled() {
+    ThreadPoolTaskScheduler scheduler = schedulerConfiguration.kadaiTaskStarterScheduler();
+
+    assertThat(scheduler.getThreadNamePrefix()).isEqualTo("kadai-task-starter-scheduler-");
+  }
+}
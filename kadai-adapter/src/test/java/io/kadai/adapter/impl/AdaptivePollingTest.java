@@ -0,0 +1,119 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import org.junit.jupiter.api.Test;
+
+class AdaptivePollingTest {
+
+  private static final String POLLER = "poller";
+
+  @Test
+  void should_RunAgainRightAway_When_CycleRetrievedFullPage() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(true, 60_000, false, 0);
+
+    assertThat(adaptivePolling.cycleCompleted(POLLER, 5_000, 50, 50)).isTrue();
+    assertThat(adaptivePolling.cycleCompleted(POLLER, 5_000, 49, 50)).isFalse();
+    assertThat(adaptivePolling.isDue(POLLER)).isTrue();
+  }
+
+  @Test
+  void should_BackOff_When_CycleRetrievedNothing() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(true, 60_000, false, 0);
+
+    assertThat(adaptivePolling.cycleCompleted(POLLER, 5_000, 0, 50)).isFalse();
+
+    assertThat(adaptivePolling.isDue(POLLER)).isFalse();
+    assertThat(adaptivePolling.isDue("otherPoller")).isTrue();
+  }
+
+  @Test
+  void should_StopBackingOff_When_CycleRetrievedItems() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(true, 60_000, false, 0);
+    adaptivePolling.cycleCompleted(POLLER, 5_000, 0, 50);
+
+    adaptivePolling.cycleCompleted(POLLER, 5_000, 1, 50);
+
+    assertThat(adaptivePolling.isDue(POLLER)).isTrue();
+  }
+
+  @Test
+  void should_NotBackOffLongerThanMaximumInterval_When_CyclesKeepRetrievingNothing() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(true, 5_000, false, 0);
+
+    adaptivePolling.cycleCompleted(POLLER, 5_000, 0, 50);
+    adaptivePolling.cycleCompleted(POLLER, 5_000, 0, 50);
+
+    assertThat(adaptivePolling.isDue(POLLER)).isTrue();
+  }
+
+  @Test
+  void should_PollAtRegularInterval_When_AdaptivePollingIsDisabled() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(false, 60_000, false, 0);
+
+    assertThat(adaptivePolling.cycleCompleted(POLLER, 5_000, 50, 50)).isFalse();
+    assertThat(adaptivePolling.cycleCompleted(POLLER, 5_000, 0, 50)).isFalse();
+    assertThat(adaptivePolling.isDue(POLLER)).isTrue();
+  }
+
+  @Test
+  void should_RunCyclesUntilNothingIsRetrieved_When_DrainingIsEnabled() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(false, 60_000, true, 60_000);
+    Queue<Integer> numbersOfItems = new ArrayDeque<>(Arrays.asList(50, 10, 1, 0, 50));
+
+    adaptivePolling.runCycles(POLLER, 5_000, 50, numbersOfItems::poll);
+
+    assertThat(numbersOfItems).containsExactly(50);
+  }
+
+  @Test
+  void should_RunOneCyclePerRun_When_NeitherAdaptivePollingNorDrainingIsEnabled() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(false, 60_000, false, 0);
+    Queue<Integer> numbersOfItems = new ArrayDeque<>(Arrays.asList(50, 50));
+
+    adaptivePolling.runCycles(POLLER, 5_000, 50, numbersOfItems::poll);
+
+    assertThat(numbersOfItems).containsExactly(50);
+  }
+
+  @Test
+  void should_StopRunningCycles_When_TimeBudgetIsUsedUp() {
+    AdaptivePolling adaptivePolling = new AdaptivePolling(false, 60_000, true, 1);
+    Queue<Integer> numbersOfItems = new ArrayDeque<>(Arrays.asList(50, 50, 50));
+
+    adaptivePolling.runCycles(
+        POLLER,
+        5_000,
+        50,
+        () -> {
+          long cycleEnd = System.currentTimeMillis() + 10;
+          while (System.currentTimeMillis() < cycleEnd) {
+            Thread.onSpinWait();
+          }
+          return numbersOfItems.poll();
+        });
+
+    assertThat(numbersOfItems).containsExactly(50, 50);
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.common.api.BulkOperationResults;
+import io.kadai.task.api.models.Task;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class KadaiTaskStarterTest {
+
+  private static final String SYSTEM_URL = "http://localhost/engine-rest";
+  private static final String SLOW_SYSTEM_URL = "http://slow-host/engine-rest";
+
+  private final KadaiConnector kadaiConnector = mock(KadaiConnector.class);
+  private final SystemConnector systemConnector = mock(SystemConnector.class);
+  private final List<String> reportedTaskIds = Collections.synchronizedList(new ArrayList<>());
+  private final ExecutorService pipelineExecutor = Executors.newFixedThreadPool(2);
+  private final KadaiTaskStarter kadaiTaskStarter = new KadaiTaskStarter();
+  private final AdapterManager adapterManager = mock(AdapterManager.class);
+
+  @BeforeEach
+  void setUp() {
+    when(adapterManager.isInitialized()).thenReturn(true);
+    when(adapterManager.getKadaiConnector()).thenReturn(kadaiConnector);
+    when(adapterManager.getSystemConnectors())
+        .thenReturn(Collections.singletonMap(SYSTEM_URL, systemConnector));
+    when(kadaiConnector.convertToKadaiTask(any())).thenAnswer(invocation -> mock(Task.class));
+    when(kadaiConnector.createKadaiTasks(anyList())).thenReturn(new BulkOperationResults<>());
+    when(systemConnector.getSystemUrl()).thenReturn(SYSTEM_URL);
+    doAnswer(
+            invocation -> {
+              List<ReferencedTask> createdTasks = invocation.getArgument(0);
+              createdTasks.forEach(task -> reportedTaskIds.add(task.getId()));
+              return null;
+            })
+        .when(systemConnector)
+        .kadaiTasksHaveBeenCreatedForNewReferencedTasks(anyList());
+
+    kadaiTaskStarter.runAsUser = "admin";
+    kadaiTaskStarter.runInterval = 60_000;
+    kadaiTaskStarter.outboxPageSize = 2;
+    kadaiTaskStarter.pipelined = true;
+    kadaiTaskStarter.pipelineQueueCapacity = 1;
+    kadaiTaskStarter.adapterManager = adapterManager;
+    kadaiTaskStarter.adaptivePolling = new AdaptivePolling(false, 60_000, true, 0);
+    kadaiTaskStarter.laneExecutor = new SyncTaskExecutor();
+    kadaiTaskStarter.pipelineExecutor = pipelineExecutor;
+  }
+
+  @AfterEach
+  void tearDown() {
+    pipelineExecutor.shutdownNow();
+  }
+
+  @Test
+  void should_CreateAndReportEveryTaskOnceInOrder_When_LaneIsPipelined() throws Exception {
+    kadaiTaskStarter.eventLockDurationInSeconds = 300;
+    when(systemConnector.retrieveNewStartedReferencedTasks())
+        .thenReturn(referencedTasks("1", "2"))
+        .thenReturn(referencedTasks("3", "4"))
+        .thenReturn(referencedTasks("5"))
+        .thenReturn(new ArrayList<>());
+
+    kadaiTaskStarter.retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks();
+
+    verify(systemConnector, times(4)).retrieveNewStartedReferencedTasks();
+    verify(kadaiConnector, times(3)).createKadaiTasks(anyList());
+    assertThat(reportedTaskIds).containsExactly("1", "2", "3", "4", "5");
+  }
+
+  @Test
+  void should_AbortPipelineAndReleaseLane_When_CreationStageFails() {
+    kadaiTaskStarter.eventLockDurationInSeconds = 300;
+    when(systemConnector.retrieveNewStartedReferencedTasks())
+        .thenAnswer(invocation -> referencedTasks("1", "2"));
+    when(adapterManager.getKadaiConnector())
+        .thenThrow(new IllegalStateException("KADAI is unavailable"));
+
+    assertThat(
+            CompletableFuture.runAsync(
+                kadaiTaskStarter::retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks))
+        .succeedsWithin(Duration.ofSeconds(10));
+    assertThat(
+            CompletableFuture.runAsync(
+                kadaiTaskStarter::retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks))
+        .succeedsWithin(Duration.ofSeconds(10));
+
+    verify(adapterManager, times(2)).getKadaiConnector();
+    assertThat(reportedTaskIds).isEmpty();
+  }
+
+  @Test
+  void should_RunSequentially_When_LaneIsPipelinedWithoutEventLockDuration() throws Exception {
+    kadaiTaskStarter.eventLockDurationInSeconds = 0;
+    kadaiTaskStarter.pipelineExecutor =
+        command -> {
+          throw new IllegalStateException("the pipeline must not be used");
+        };
+    when(systemConnector.retrieveNewStartedReferencedTasks())
+        .thenReturn(referencedTasks("1", "2"))
+        .thenReturn(referencedTasks("3"))
+        .thenReturn(new ArrayList<>());
+
+    kadaiTaskStarter.retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks();
+
+    InOrder inOrder = inOrder(systemConnector);
+    inOrder.verify(systemConnector).retrieveNewStartedReferencedTasks();
+    inOrder.verify(systemConnector).kadaiTasksHaveBeenCreatedForNewReferencedTasks(anyList());
+    inOrder.verify(systemConnector).retrieveNewStartedReferencedTasks();
+    inOrder.verify(systemConnector).kadaiTasksHaveBeenCreatedForNewReferencedTasks(anyList());
+    assertThat(reportedTaskIds).containsExactly("1", "2", "3");
+  }
+
+  @Test
+  void should_RunOneCycle_When_KadaiFailsToCreateEveryTask() {
+    kadaiTaskStarter.pipelined = false;
+    kadaiTaskStarter.adaptivePolling = new AdaptivePolling(true, 600_000, true, 0);
+    when(systemConnector.retrieveNewStartedReferencedTasks())
+        .thenReturn(referencedTasks("1", "2"));
+    when(kadaiConnector.createKadaiTasks(anyList()))
+        .thenThrow(new IllegalStateException("KADAI is unavailable"));
+
+    kadaiTaskStarter.retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks();
+
+    verify(systemConnector, times(1)).retrieveNewStartedReferencedTasks();
+    verify(systemConnector, times(2)).unlockEvent(any());
+    assertThat(reportedTaskIds).isEmpty();
+    assertThat(
+            kadaiTaskStarter.adaptivePolling.isDue(
+                KadaiTaskStarter.class.getSimpleName() + SYSTEM_URL))
+        .isFalse();
+  }
+
+  @Test
+  void should_KeepFastLaneRunningAndSkipBusyLane_When_OtherSystemIsSlow() throws Exception {
+    kadaiTaskStarter.pipelined = false;
+    SystemConnector slowSystemConnector = mock(SystemConnector.class);
+    when(slowSystemConnector.getSystemUrl()).thenReturn(SLOW_SYSTEM_URL);
+    CountDownLatch slowLaneStarted = new CountDownLatch(1);
+    CountDownLatch releaseSlowLane = new CountDownLatch(1);
+    when(slowSystemConnector.retrieveNewStartedReferencedTasks())
+        .thenAnswer(
+            invocation -> {
+              slowLaneStarted.countDown();
+              releaseSlowLane.await(30, TimeUnit.SECONDS);
+              return new ArrayList<>();
+            });
+    Map<String, SystemConnector> systemConnectors = new LinkedHashMap<>();
+    systemConnectors.put(SLOW_SYSTEM_URL, slowSystemConnector);
+    systemConnectors.put(SYSTEM_URL, systemConnector);
+    when(adapterManager.getSystemConnectors()).thenReturn(systemConnectors);
+    CountDownLatch fastLaneFinished = new CountDownLatch(2);
+    when(systemConnector.retrieveNewStartedReferencedTasks())
+        .thenReturn(referencedTasks("1"))
+        .thenReturn(new ArrayList<>())
+        .thenReturn(referencedTasks("2"))
+        .thenReturn(new ArrayList<>());
+    doAnswer(
+            invocation -> {
+              List<ReferencedTask> createdTasks = invocation.getArgument(0);
+              createdTasks.forEach(
+                  task -> {
+                    reportedTaskIds.add(task.getId());
+                    fastLaneFinished.countDown();
+                  });
+              return null;
+            })
+        .when(systemConnector)
+        .kadaiTasksHaveBeenCreatedForNewReferencedTasks(anyList());
+    ThreadPoolTaskExecutor laneExecutor = new ThreadPoolTaskExecutor();
+    laneExecutor.setCorePoolSize(2);
+    laneExecutor.setMaxPoolSize(2);
+    laneExecutor.setQueueCapacity(2);
+    // only the fast lane finishes while the slow lane is held up
+    CountDownLatch firstLaneReleased = new CountDownLatch(1);
+    laneExecutor.setTaskDecorator(
+        lane ->
+            () -> {
+              try {
+                lane.run();
+              } finally {
+                firstLaneReleased.countDown();
+              }
+            });
+    laneExecutor.initialize();
+    kadaiTaskStarter.laneExecutor = laneExecutor;
+
+    try {
+      kadaiTaskStarter.retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks();
+      assertThat(slowLaneStarted.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(firstLaneReleased.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(reportedTaskIds).containsExactly("1");
+      kadaiTaskStarter.retrieveNewReferencedTasksAndCreateCorrespondingKadaiTasks();
+
+      assertThat(fastLaneFinished.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(reportedTaskIds).containsExactly("1", "2");
+      verify(slowSystemConnector, times(1)).retrieveNewStartedReferencedTasks();
+    } finally {
+      releaseSlowLane.countDown();
+      laneExecutor.shutdown();
+    }
+  }
+
+  private static List<ReferencedTask> referencedTasks(String... ids) {
+    return Arrays.stream(ids)
+        .map(
+            id -> {
+              ReferencedTask referencedTask = new ReferencedTask();
+              referencedTask.setId(id);
+              referencedTask.setVariables("{}");
+              return referencedTask;
+            })
+        .collect(Collectors.toList());
+  }
+}
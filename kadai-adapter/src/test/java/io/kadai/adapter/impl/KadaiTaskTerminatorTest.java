@@ -0,0 +1,99 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.kadai.adapter.exceptions.TaskTerminationFailedException;
+import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KadaiTaskTerminatorTest {
+
+  private static final String SYSTEM_URL = "http://localhost/engine-rest";
+  private static final String POLLER_NAME =
+      KadaiTaskTerminator.class.getSimpleName() + SYSTEM_URL;
+
+  private final KadaiConnector kadaiConnector = mock(KadaiConnector.class);
+  private final SystemConnector systemConnector = mock(SystemConnector.class);
+  private final KadaiTaskTerminator kadaiTaskTerminator = new KadaiTaskTerminator();
+
+  @BeforeEach
+  void setUp() {
+    AdapterManager adapterManager = mock(AdapterManager.class);
+    when(adapterManager.isInitialized()).thenReturn(true);
+    when(adapterManager.getKadaiConnector()).thenReturn(kadaiConnector);
+    when(adapterManager.getSystemConnectors())
+        .thenReturn(Collections.singletonMap(SYSTEM_URL, systemConnector));
+    when(systemConnector.getSystemUrl()).thenReturn(SYSTEM_URL);
+
+    kadaiTaskTerminator.runAsUser = "admin";
+    kadaiTaskTerminator.runInterval = 60_000;
+    kadaiTaskTerminator.outboxPageSize = 2;
+    kadaiTaskTerminator.adapterManager = adapterManager;
+    kadaiTaskTerminator.adaptivePolling = new AdaptivePolling(true, 600_000, true, 0);
+  }
+
+  @Test
+  void should_RunOneCycle_When_KadaiFailsToTerminateEveryTask() throws Exception {
+    when(systemConnector.retrieveFinishedReferencedTasks())
+        .thenReturn(Arrays.asList(referencedTask("1"), referencedTask("2")));
+    doThrow(new TaskTerminationFailedException("1", null))
+        .when(kadaiConnector)
+        .terminateKadaiTask(any());
+
+    kadaiTaskTerminator.retrieveFinishedReferencedTasksAndTerminateCorrespondingKadaiTasks();
+
+    verify(systemConnector, times(1)).retrieveFinishedReferencedTasks();
+    verify(systemConnector).unlockEvent("event-1");
+    verify(systemConnector).unlockEvent("event-2");
+    assertThat(kadaiTaskTerminator.adaptivePolling.isDue(POLLER_NAME)).isFalse();
+  }
+
+  @Test
+  void should_RunAnotherCycle_When_KadaiTerminatedFullPage() {
+    when(systemConnector.retrieveFinishedReferencedTasks())
+        .thenReturn(Arrays.asList(referencedTask("1"), referencedTask("2")))
+        .thenReturn(Collections.emptyList());
+
+    kadaiTaskTerminator.retrieveFinishedReferencedTasksAndTerminateCorrespondingKadaiTasks();
+
+    verify(systemConnector, times(2)).retrieveFinishedReferencedTasks();
+  }
+
+  private static ReferencedTask referencedTask(String id) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setOutboxEventId("event-" + id);
+    referencedTask.setSystemUrl(SYSTEM_URL);
+    return referencedTask;
+  }
+}
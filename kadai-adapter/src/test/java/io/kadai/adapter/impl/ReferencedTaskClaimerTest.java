@@ -0,0 +1,100 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.adapter.systemconnector.api.SystemResponse;
+import io.kadai.task.api.CallbackState;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class ReferencedTaskClaimerTest {
+
+  private static final String SYSTEM_URL = "http://localhost/engine-rest";
+  private static final String POLLER_NAME = ReferencedTaskClaimer.class.getSimpleName();
+
+  private final KadaiConnector kadaiConnector = mock(KadaiConnector.class);
+  private final SystemConnector systemConnector = mock(SystemConnector.class);
+  private final ReferencedTaskClaimer referencedTaskClaimer = new ReferencedTaskClaimer();
+
+  @BeforeEach
+  void setUp() {
+    AdapterManager adapterManager = mock(AdapterManager.class);
+    when(adapterManager.isInitialized()).thenReturn(true);
+    when(adapterManager.getKadaiConnector()).thenReturn(kadaiConnector);
+    when(adapterManager.getSystemConnectors())
+        .thenReturn(Collections.singletonMap(SYSTEM_URL, systemConnector));
+
+    referencedTaskClaimer.runAsUser = "admin";
+    referencedTaskClaimer.runInterval = 60_000;
+    referencedTaskClaimer.batchSize = 2;
+    referencedTaskClaimer.adapterManager = adapterManager;
+    referencedTaskClaimer.adaptivePolling = new AdaptivePolling(true, 600_000, true, 0);
+  }
+
+  @Test
+  void should_RunOneCycle_When_ExternalSystemFailsToClaimEveryTask() {
+    List<ReferencedTask> fullPage = Arrays.asList(referencedTask("1"), referencedTask("2"));
+    when(kadaiConnector.retrieveClaimedKadaiTasksAsReferencedTasks()).thenReturn(fullPage);
+    SystemResponse failure = new SystemResponse(HttpStatus.SERVICE_UNAVAILABLE, null);
+    when(systemConnector.claimReferencedTasks(anyList()))
+        .thenReturn(Arrays.asList(failure, failure));
+
+    referencedTaskClaimer.retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTasks();
+
+    verify(kadaiConnector, times(1)).retrieveClaimedKadaiTasksAsReferencedTasks();
+    verify(kadaiConnector).changeTaskCallbackState(Collections.emptyList(), CallbackState.CLAIMED);
+    assertThat(referencedTaskClaimer.adaptivePolling.isDue(POLLER_NAME)).isFalse();
+  }
+
+  @Test
+  void should_RunAnotherCycle_When_ExternalSystemClaimedFullPage() {
+    when(kadaiConnector.retrieveClaimedKadaiTasksAsReferencedTasks())
+        .thenReturn(Arrays.asList(referencedTask("1"), referencedTask("2")))
+        .thenReturn(Collections.emptyList());
+    SystemResponse success = new SystemResponse(HttpStatus.NO_CONTENT, null);
+    when(systemConnector.claimReferencedTasks(anyList()))
+        .thenReturn(Arrays.asList(success, success));
+
+    referencedTaskClaimer.retrieveClaimedKadaiTasksAndClaimCorrespondingReferencedTasks();
+
+    verify(kadaiConnector, times(2)).retrieveClaimedKadaiTasksAsReferencedTasks();
+  }
+
+  private static ReferencedTask referencedTask(String id) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setSystemUrl(SYSTEM_URL);
+    return referencedTask;
+  }
+}
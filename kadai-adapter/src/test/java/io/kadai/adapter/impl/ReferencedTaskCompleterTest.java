@@ -0,0 +1,208 @@
+/*
+ * Copyright [2024] [envite consulting GmbH]
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ *
+ */
+
+package io.kadai.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.kadai.adapter.kadaiconnector.api.KadaiConnector;
+import io.kadai.adapter.manager.AdapterManager;
+import io.kadai.adapter.systemconnector.api.ReferencedTask;
+import io.kadai.adapter.systemconnector.api.SystemConnector;
+import io.kadai.adapter.systemconnector.api.SystemResponse;
+import io.kadai.task.api.CallbackState;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class ReferencedTaskCompleterTest {
+
+  private static final String BUSY_SYSTEM_URL = "http://busy-host/engine-rest";
+  private static final String OTHER_SYSTEM_URL = "http://other-host/engine-rest";
+
+  private final KadaiConnector kadaiConnector = mock(KadaiConnector.class);
+  private final SystemConnector busySystemConnector = mock(SystemConnector.class);
+  private final SystemConnector otherSystemConnector = mock(SystemConnector.class);
+  private final ThreadPoolTaskExecutor completerExecutor = new ThreadPoolTaskExecutor();
+  private final ReferencedTaskCompleter referencedTaskCompleter = new ReferencedTaskCompleter();
+
+  @BeforeEach
+  void setUp() {
+    Map<String, SystemConnector> systemConnectors = new LinkedHashMap<>();
+    systemConnectors.put(BUSY_SYSTEM_URL, busySystemConnector);
+    systemConnectors.put(OTHER_SYSTEM_URL, otherSystemConnector);
+    AdapterManager adapterManager = mock(AdapterManager.class);
+    when(adapterManager.isInitialized()).thenReturn(true);
+    when(adapterManager.getKadaiConnector()).thenReturn(kadaiConnector);
+    when(adapterManager.getSystemConnectors()).thenReturn(systemConnectors);
+
+    completerExecutor.setCorePoolSize(4);
+    completerExecutor.setMaxPoolSize(4);
+    completerExecutor.initialize();
+
+    referencedTaskCompleter.runAsUser = "admin";
+    referencedTaskCompleter.parallelismPerSystem = 2;
+    referencedTaskCompleter.adapterManager = adapterManager;
+    referencedTaskCompleter.completerExecutor = completerExecutor;
+  }
+
+  @AfterEach
+  void tearDown() {
+    completerExecutor.shutdown();
+  }
+
+  @Test
+  void should_CompleteTasksOfEverySystemInOneBulkRequest_When_CompletionIsNotConcurrent() {
+    referencedTaskCompleter.concurrent = false;
+    List<ReferencedTask> tasksCompletedByKadai = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      tasksCompletedByKadai.add(referencedTask("busy-" + i, BUSY_SYSTEM_URL));
+    }
+    tasksCompletedByKadai.add(referencedTask("other-1", OTHER_SYSTEM_URL));
+    when(kadaiConnector.retrieveFinishedKadaiTasksAsReferencedTasks())
+        .thenReturn(tasksCompletedByKadai);
+    when(busySystemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(invocation -> successfulResponses(invocation.getArgument(0)));
+    when(otherSystemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(invocation -> successfulResponses(invocation.getArgument(0)));
+
+    referencedTaskCompleter.retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask();
+
+    verify(busySystemConnector).completeReferencedTasks(tasksCompletedByKadai.subList(0, 3));
+    verify(otherSystemConnector).completeReferencedTasks(tasksCompletedByKadai.subList(3, 4));
+    assertThat(completerExecutor.getThreadPoolExecutor().getCompletedTaskCount()).isZero();
+    assertThat(completedTasks()).containsExactlyInAnyOrderElementsOf(tasksCompletedByKadai);
+  }
+
+  @Test
+  void should_CompleteSlicesOfASystemInParallelBulkRequests_When_CompletionIsConcurrent()
+      throws Exception {
+    referencedTaskCompleter.concurrent = true;
+    List<ReferencedTask> tasksCompletedByKadai = new ArrayList<>();
+    for (int i = 1; i <= 6; i++) {
+      tasksCompletedByKadai.add(referencedTask("busy-" + i, BUSY_SYSTEM_URL));
+    }
+    tasksCompletedByKadai.add(referencedTask("other-1", OTHER_SYSTEM_URL));
+    when(kadaiConnector.retrieveFinishedKadaiTasksAsReferencedTasks())
+        .thenReturn(tasksCompletedByKadai);
+
+    List<List<ReferencedTask>> busySlices = Collections.synchronizedList(new ArrayList<>());
+    // holds both workers of the busy system until they run at the same time
+    CountDownLatch workersOfBusySystem = new CountDownLatch(2);
+    AtomicBoolean workersRanInParallel = new AtomicBoolean(true);
+    when(busySystemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<ReferencedTask> slice = new ArrayList<>(invocation.getArgument(0));
+              busySlices.add(slice);
+              workersOfBusySystem.countDown();
+              if (!workersOfBusySystem.await(5, TimeUnit.SECONDS)) {
+                workersRanInParallel.set(false);
+              }
+              return successfulResponses(slice);
+            });
+    when(otherSystemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(invocation -> successfulResponses(invocation.getArgument(0)));
+
+    referencedTaskCompleter.retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask();
+
+    assertThat(workersRanInParallel).isTrue();
+    assertThat(busySlices)
+        .containsExactlyInAnyOrder(
+            tasksCompletedByKadai.subList(0, 3), tasksCompletedByKadai.subList(3, 6));
+    verify(otherSystemConnector).completeReferencedTasks(tasksCompletedByKadai.subList(6, 7));
+    verify(busySystemConnector, never()).completeReferencedTask(any());
+    assertThat(completedTasks()).containsExactlyInAnyOrderElementsOf(tasksCompletedByKadai);
+  }
+
+  @Test
+  void should_SkipTasksInProgress_When_AnotherRunRetrievesThem() throws Exception {
+    referencedTaskCompleter.concurrent = false;
+    List<ReferencedTask> tasksCompletedByKadai =
+        List.of(referencedTask("busy-1", BUSY_SYSTEM_URL));
+    when(kadaiConnector.retrieveFinishedKadaiTasksAsReferencedTasks())
+        .thenReturn(tasksCompletedByKadai);
+    CountDownLatch firstRunCompleting = new CountDownLatch(1);
+    CountDownLatch releaseFirstRun = new CountDownLatch(1);
+    when(busySystemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(
+            invocation -> {
+              firstRunCompleting.countDown();
+              releaseFirstRun.await(5, TimeUnit.SECONDS);
+              return successfulResponses(invocation.getArgument(0));
+            });
+
+    CompletableFuture<Void> firstRun =
+        CompletableFuture.runAsync(
+            referencedTaskCompleter
+                ::retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask);
+    try {
+      assertThat(firstRunCompleting.await(5, TimeUnit.SECONDS)).isTrue();
+      referencedTaskCompleter.retrieveFinishedKadaiTasksAndCompleteCorrespondingReferencedTask();
+    } finally {
+      releaseFirstRun.countDown();
+    }
+
+    assertThat(firstRun).succeedsWithin(Duration.ofSeconds(5));
+    verify(busySystemConnector, times(1)).completeReferencedTasks(anyList());
+  }
+
+  private List<ReferencedTask> completedTasks() {
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ReferencedTask>> completedTasks = ArgumentCaptor.forClass(List.class);
+    verify(kadaiConnector)
+        .changeTaskCallbackState(
+            completedTasks.capture(), eq(CallbackState.CALLBACK_PROCESSING_COMPLETED));
+    return completedTasks.getValue();
+  }
+
+  private static List<SystemResponse> successfulResponses(List<ReferencedTask> referencedTasks) {
+    return referencedTasks.stream()
+        .map(referencedTask -> new SystemResponse(HttpStatus.NO_CONTENT, null))
+        .collect(Collectors.toList());
+  }
+
+  private static ReferencedTask referencedTask(String id, String systemUrl) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setSystemUrl(systemUrl);
+    return referencedTask;
+  }
+}